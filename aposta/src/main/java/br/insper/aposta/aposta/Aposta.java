@@ -4,12 +4,18 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+// indices terminam em _id para servir a paginacao por cursor sem ordenar em memoria
 @Document
+@CompoundIndex(name = "partida_id", def = "{'idPartida': 1, '_id': 1}")
+@CompoundIndex(name = "partida_status_resultado_id", def = "{'idPartida': 1, 'status': 1, 'resultado': 1, '_id': 1}")
+@CompoundIndex(name = "status_resultado_id", def = "{'status': 1, 'resultado': 1, '_id': 1}")
+@CompoundIndex(name = "resultado_id", def = "{'resultado': 1, '_id': 1}")
 @Getter
 @Setter
 public class Aposta {
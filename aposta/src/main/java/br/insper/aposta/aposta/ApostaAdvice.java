@@ -0,0 +1,31 @@
+package br.insper.aposta.aposta;
+
+import br.insper.aposta.common.Erro;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.LocalDateTime;
+
+@ControllerAdvice
+public class ApostaAdvice {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @ExceptionHandler(ApostaNaoEncontradaException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public Erro apostaNaoEncontradaHandler(ApostaNaoEncontradaException e) {
+        meterRegistry.counter("excecoes.nao.encontrado", "recurso", "aposta").increment();
+        Erro erro = new Erro();
+        erro.setMensagem(e.getMessage());
+        erro.setData(LocalDateTime.now());
+        erro.setCodigo(404);
+        return erro;
+    }
+}
@@ -1,20 +1,27 @@
 package br.insper.aposta.aposta;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/aposta")
+@Profile("!reativo")
 public class ApostaController {
 
     @Autowired
     private ApostaService apostaService;
 
     @GetMapping
-    public List<Aposta> listar() {
-        return apostaService.listar();
+    public PaginaApostaDTO listar(@RequestParam(required = false) Integer idPartida,
+                                  @RequestParam(required = false) String status,
+                                  @RequestParam(required = false) String resultado,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(required = false) Integer tamanho) {
+        return apostaService.listar(idPartida, status, resultado, cursor, tamanho);
     }
 
     @PostMapping
@@ -22,6 +29,12 @@ public class ApostaController {
         return apostaService.salvar(aposta);
     }
 
+    @PostMapping("/lote")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ResultadoLoteDTO salvarLote(@RequestBody List<Aposta> apostas) {
+        return apostaService.salvarLote(apostas);
+    }
+
     @GetMapping("/{idAposta}")
     public Aposta getAposta(@PathVariable String idAposta) {
         return apostaService.getAposta(idAposta);
@@ -0,0 +1,54 @@
+package br.insper.aposta.aposta;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/aposta")
+@Profile("reativo")
+public class ApostaReativaController {
+
+    @Autowired
+    private ApostaReativaService apostaReativaService;
+
+    @GetMapping
+    public Mono<PaginaApostaDTO> listar(@RequestParam(required = false) Integer idPartida,
+                                        @RequestParam(required = false) String status,
+                                        @RequestParam(required = false) String resultado,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(required = false) Integer tamanho) {
+        return apostaReativaService.listar(idPartida, status, resultado, cursor, tamanho);
+    }
+
+    // uma aposta por linha; a escrita segue o ritmo do cliente (backpressure ate o cursor do mongo)
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Aposta> exportar(@RequestParam(required = false) Integer idPartida,
+                                 @RequestParam(required = false) String status,
+                                 @RequestParam(required = false) String resultado,
+                                 @RequestParam(required = false) String cursor) {
+        return apostaReativaService.exportar(idPartida, status, resultado, cursor);
+    }
+
+    @PostMapping
+    public Mono<Aposta> salvar(@RequestBody Aposta aposta) {
+        return apostaReativaService.salvar(aposta);
+    }
+
+    @PostMapping("/lote")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ResultadoLoteDTO> salvarLote(@RequestBody List<Aposta> apostas) {
+        return apostaReativaService.salvarLote(apostas);
+    }
+
+    @GetMapping("/{idAposta}")
+    public Mono<Aposta> getAposta(@PathVariable String idAposta) {
+        return apostaReativaService.getAposta(idAposta);
+    }
+}
@@ -0,0 +1,8 @@
+package br.insper.aposta.aposta;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ApostaReativaRepository extends ReactiveMongoRepository<Aposta, String>, ApostaReativaRepositoryCustom {
+}
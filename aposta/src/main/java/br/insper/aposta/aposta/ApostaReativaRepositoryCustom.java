@@ -0,0 +1,10 @@
+package br.insper.aposta.aposta;
+
+import reactor.core.publisher.Flux;
+
+public interface ApostaReativaRepositoryCustom {
+
+    Flux<Aposta> buscarPagina(Integer idPartida, String status, String resultado, String cursor, int limite);
+
+    Flux<Aposta> buscarTodas(Integer idPartida, String status, String resultado, String cursor);
+}
@@ -0,0 +1,26 @@
+package br.insper.aposta.aposta;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+
+// mesmas consultas do ApostaRepositoryImpl; o driver reativo busca cada lote do cursor conforme a demanda
+public class ApostaReativaRepositoryImpl implements ApostaReativaRepositoryCustom {
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<Aposta> buscarPagina(Integer idPartida, String status, String resultado, String cursor, int limite) {
+        return reactiveMongoTemplate.find(
+                ApostaRepositoryImpl.consultar(idPartida, status, resultado, cursor).limit(limite), Aposta.class);
+    }
+
+    @Override
+    public Flux<Aposta> buscarTodas(Integer idPartida, String status, String resultado, String cursor) {
+        return reactiveMongoTemplate.find(
+                ApostaRepositoryImpl.consultar(idPartida, status, resultado, cursor)
+                        .cursorBatchSize(ApostaService.TAMANHO_MAXIMO),
+                Aposta.class);
+    }
+}
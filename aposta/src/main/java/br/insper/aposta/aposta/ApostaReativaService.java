@@ -0,0 +1,96 @@
+package br.insper.aposta.aposta;
+
+import br.insper.aposta.partida.CampeonatoIndisponivelException;
+import br.insper.aposta.partida.PartidaNaoEncontradaException;
+import br.insper.aposta.partida.PartidaReativaService;
+import br.insper.aposta.partida.RetornarPartidaDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// contraparte do ApostaService para o perfil reativo; as regras ficam em RegrasAposta
+@Service
+@Profile("reativo")
+public class ApostaReativaService {
+
+    // partidas distintas de um lote consultadas ao mesmo tempo; o resto espera sem ocupar a fila do pool
+    public static final int CONSULTAS_SIMULTANEAS_LOTE = 16;
+
+    @Autowired
+    private ApostaReativaRepository apostaReativaRepository;
+
+    @Autowired
+    private PartidaReativaService partidaReativaService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public Mono<Aposta> salvar(Aposta aposta) {
+        return partidaReativaService.getPartida(aposta.getIdPartida())
+                .flatMap(partida -> apostaReativaRepository.save(RegrasAposta.abrir(aposta, LocalDateTime.now())));
+    }
+
+    public Mono<ResultadoLoteDTO> salvarLote(List<Aposta> apostas) {
+        return Flux.fromIterable(RegrasAposta.idsPartidas(apostas))
+                .flatMap(idPartida -> partidaReativaService.getPartida(idPartida)
+                                .map(partida -> Map.entry(idPartida, partida))
+                                // partida inexistente vira erro do item, nao do lote
+                                .onErrorResume(PartidaNaoEncontradaException.class, e -> Mono.empty()),
+                        CONSULTAS_SIMULTANEAS_LOTE)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .flatMap(partidas -> {
+                    ResultadoLoteDTO resultado = new ResultadoLoteDTO();
+                    List<Aposta> aceitas = RegrasAposta.separarLote(apostas, partidas, resultado, LocalDateTime.now());
+                    if (aceitas.isEmpty()) {
+                        return Mono.just(resultado);
+                    }
+                    // insert com lista vira um unico insertMany no mongo
+                    return apostaReativaRepository.insert(aceitas)
+                            .collectList()
+                            .map(salvas -> {
+                                resultado.getApostas().addAll(salvas);
+                                return resultado;
+                            });
+                });
+    }
+
+    public Mono<PaginaApostaDTO> listar(Integer idPartida, String status, String resultado, String cursor, Integer tamanho) {
+        int limite = RegrasAposta.limitePagina(tamanho);
+        return apostaReativaRepository.buscarPagina(idPartida, status, resultado, cursor, limite + 1)
+                .collectList()
+                .map(apostas -> RegrasAposta.paginar(apostas, limite));
+    }
+
+    // todas as apostas do filtro, sem paginar; o mongo so e lido conforme o cliente consome
+    public Flux<Aposta> exportar(Integer idPartida, String status, String resultado, String cursor) {
+        return apostaReativaRepository.buscarTodas(idPartida, status, resultado, cursor)
+                .limitRate(ApostaService.TAMANHO_MAXIMO);
+    }
+
+    public Mono<Aposta> getAposta(String idAposta) {
+        return apostaReativaRepository.findById(idAposta)
+                .switchIfEmpty(Mono.error(() -> new ApostaNaoEncontradaException("Aposta não encontrada")))
+                .flatMap(aposta -> {
+                    if (!RegrasAposta.emAberto(aposta)) {
+                        return Mono.just(aposta);
+                    }
+                    return partidaReativaService.getPartida(aposta.getIdPartida())
+                            .flatMap(partida -> liquidar(aposta, partida))
+                            // sem o campeonato a aposta continua em aberto; devolve o que esta gravado
+                            .onErrorResume(CampeonatoIndisponivelException.class, e -> Mono.just(aposta));
+                });
+    }
+
+    private Mono<Aposta> liquidar(Aposta aposta, RetornarPartidaDTO partida) {
+        return Mono.fromCallable(() -> RegrasAposta.liquidar(aposta, partida))
+                .flatMap(apostaReativaRepository::save)
+                .doOnNext(salva -> meterRegistry.counter("apostas.liquidadas", "status", salva.getStatus()).increment());
+    }
+}
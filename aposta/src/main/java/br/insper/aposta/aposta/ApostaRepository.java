@@ -6,7 +6,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface ApostaRepository extends MongoRepository<Aposta, String> {
+public interface ApostaRepository extends MongoRepository<Aposta, String>, ApostaRepositoryCustom {
 
     List<Aposta> findByResultado(String resultado);
 }
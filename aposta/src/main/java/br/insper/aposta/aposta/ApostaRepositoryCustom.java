@@ -0,0 +1,8 @@
+package br.insper.aposta.aposta;
+
+import java.util.List;
+
+public interface ApostaRepositoryCustom {
+
+    List<Aposta> buscarPagina(Integer idPartida, String status, String resultado, String cursor, int limite);
+}
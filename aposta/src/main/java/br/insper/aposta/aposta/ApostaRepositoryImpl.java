@@ -0,0 +1,40 @@
+package br.insper.aposta.aposta;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+public class ApostaRepositoryImpl implements ApostaRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Aposta> buscarPagina(Integer idPartida, String status, String resultado, String cursor, int limite) {
+        return mongoTemplate.find(consultar(idPartida, status, resultado, cursor).limit(limite), Aposta.class);
+    }
+
+    // filtros opcionais e paginacao por cursor (_id > cursor) em ordem de _id; tambem usada pelo repositorio reativo
+    static Query consultar(Integer idPartida, String status, String resultado, String cursor) {
+        Criteria criteria = new Criteria();
+        if (idPartida != null) {
+            criteria.and("idPartida").is(idPartida);
+        }
+        if (status != null) {
+            criteria.and("status").is(status);
+        }
+        if (resultado != null) {
+            criteria.and("resultado").is(resultado);
+        }
+        if (cursor != null) {
+            criteria.and("_id").gt(cursor);
+        }
+
+        return Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"));
+    }
+}
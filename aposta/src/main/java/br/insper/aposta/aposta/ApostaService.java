@@ -1,46 +1,71 @@
 package br.insper.aposta.aposta;
 
+import br.insper.aposta.partida.CampeonatoIndisponivelException;
 import br.insper.aposta.partida.PartidaNaoEncontradaException;
-import br.insper.aposta.partida.PartidaNaoRealizadaException;
 import br.insper.aposta.partida.PartidaService;
 import br.insper.aposta.partida.RetornarPartidaDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
+@Observed(name = "servico.chamadas")
+@Profile("!reativo")
 public class ApostaService {
 
+    public static final int TAMANHO_PADRAO = 50;
+    public static final int TAMANHO_MAXIMO = 500;
+
     @Autowired
     private ApostaRepository apostaRepository;
 
     @Autowired
     private PartidaService partidaService;
 
-    public Aposta salvar(Aposta aposta) {
-        aposta.setId(UUID.randomUUID().toString());
+    @Autowired
+    private MeterRegistry meterRegistry;
 
+    public Aposta salvar(Aposta aposta) {
         ResponseEntity<RetornarPartidaDTO> partida = partidaService.getPartida(aposta.getIdPartida());
 
         if (partida.getStatusCode().is2xxSuccessful()) {
-            aposta.setStatus("REALIZADA");
-            aposta.setDataAposta(LocalDateTime.now());
-            return apostaRepository.save(aposta);
+            return apostaRepository.save(RegrasAposta.abrir(aposta, LocalDateTime.now()));
         } else {
             throw new PartidaNaoEncontradaException("Partida não encontrada");
         }
     }
 
-    public List<Aposta> listar() {
-        return apostaRepository.findAll();
+    public ResultadoLoteDTO salvarLote(List<Aposta> apostas) {
+        Map<Integer, RetornarPartidaDTO> partidas = partidaService.getPartidas(RegrasAposta.idsPartidas(apostas));
+
+        ResultadoLoteDTO resultado = new ResultadoLoteDTO();
+        List<Aposta> aceitas = RegrasAposta.separarLote(apostas, partidas, resultado, LocalDateTime.now());
+
+        // insert com lista vira um unico insertMany no mongo
+        if (!aceitas.isEmpty()) {
+            resultado.getApostas().addAll(apostaRepository.insert(aceitas));
+        }
+        return resultado;
+    }
+
+    public PaginaApostaDTO listar(Integer idPartida, String status, String resultado, String cursor, Integer tamanho) {
+        int limite = RegrasAposta.limitePagina(tamanho);
+        List<Aposta> apostas = apostaRepository.buscarPagina(idPartida, status, resultado, cursor, limite + 1);
+        return RegrasAposta.paginar(apostas, limite);
     }
 
     public Aposta getAposta(String idAposta) {
+        LiquidacaoApostaEvento evento = new LiquidacaoApostaEvento();
+        evento.begin();
+
         Optional<Aposta> op = apostaRepository.findById(idAposta);
 
         if (!op.isPresent()) {
@@ -49,33 +74,46 @@ public class ApostaService {
 
         Aposta aposta = op.get();
 
-        if (!aposta.getStatus().equals("REALIZADA")) {
+        if (!RegrasAposta.emAberto(aposta)) {
             return aposta;
         }
 
-        ResponseEntity<RetornarPartidaDTO> partida = partidaService.getPartida(aposta.getIdPartida());
-
-        if (partida.getStatusCode().is2xxSuccessful()) {
-            RetornarPartidaDTO partidaDTO = partida.getBody();
-
-            if (partidaDTO.getStatus().equals("REALIZADA")) {
-                if (aposta.getResultado().equals("EMPATE") && partidaDTO.isEmpate()) {
-                    aposta.setStatus("GANHOU");
-                } else if (aposta.getResultado().equals("VITORIA_MANDANTE") && partidaDTO.isVitoriaMandante()) {
-                    aposta.setStatus("GANHOU");
-                } else if (aposta.getResultado().equals("VITORIA_VISITANTE") && partidaDTO.isVitoriaVisitante()) {
-                    aposta.setStatus("GANHOU");
-                } else {
-                    aposta.setStatus("PERDEU");
-                }
-            } else {
-                throw new PartidaNaoRealizadaException("Partida não realizada");
+        // so apostas em aberto geram evento: e nelas que entram campeonato e liquidacao
+        evento.idAposta = idAposta;
+        evento.idPartida = aposta.getIdPartida();
+        try {
+            ResponseEntity<RetornarPartidaDTO> partida;
+            long inicioRemoto = System.nanoTime();
+            try {
+                partida = partidaService.getPartida(aposta.getIdPartida());
+            } catch (CampeonatoIndisponivelException e) {
+                // sem o campeonato a aposta continua em aberto; devolve o que esta gravado
+                evento.erro = e.getClass().getSimpleName();
+                return aposta;
+            } finally {
+                evento.latenciaRemota = System.nanoTime() - inicioRemoto;
             }
 
-            return apostaRepository.save(aposta);
+            if (partida.getStatusCode().is2xxSuccessful()) {
+                liquidar(aposta, partida.getBody());
+                Aposta salva = apostaRepository.save(aposta);
+                meterRegistry.counter("apostas.liquidadas", "status", aposta.getStatus()).increment();
+                return salva;
 
-        } else {
-            throw new PartidaNaoEncontradaException("Partida não encontrada");
+            } else {
+                throw new PartidaNaoEncontradaException("Partida não encontrada");
+            }
+        } catch (RuntimeException e) {
+            evento.erro = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            evento.resultado = aposta.getStatus();
+            evento.commit();
         }
     }
+
+    // Define GANHOU/PERDEU a partir do placar; nao acessa banco nem rede.
+    public Aposta liquidar(Aposta aposta, RetornarPartidaDTO partidaDTO) {
+        return RegrasAposta.liquidar(aposta, partidaDTO);
+    }
 }
@@ -0,0 +1,16 @@
+package br.insper.aposta.aposta;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErroLoteDTO {
+    // posicao da aposta na lista enviada
+    private Integer indice;
+    private String mensagem;
+}
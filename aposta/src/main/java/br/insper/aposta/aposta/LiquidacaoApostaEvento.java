@@ -0,0 +1,36 @@
+package br.insper.aposta.aposta;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// duracao do evento = getAposta inteiro; latenciaRemota = so a ida ao campeonato.
+// a diferenca e mongo (findById/save) mais a regra de liquidacao
+@Name("br.insper.aposta.LiquidacaoAposta")
+@Label("Liquidação de aposta")
+@Category({"Aposta", "Liquidação"})
+@Description("Consulta de aposta em aberto que tenta liquidá-la com o placar do campeonato")
+@StackTrace(false)
+class LiquidacaoApostaEvento extends Event {
+
+    @Label("Aposta")
+    String idAposta;
+
+    @Label("Partida")
+    int idPartida;
+
+    @Label("Resultado")
+    @Description("GANHOU, PERDEU ou o status gravado quando a aposta continua em aberto")
+    String resultado;
+
+    @Label("Erro")
+    String erro;
+
+    @Label("Latência remota")
+    @Timespan(Timespan.NANOSECONDS)
+    long latenciaRemota;
+}
@@ -0,0 +1,19 @@
+package br.insper.aposta.aposta;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaApostaDTO {
+    private List<Aposta> apostas;
+
+    // id da ultima aposta da pagina; null quando nao ha proxima pagina
+    private String proximoCursor;
+}
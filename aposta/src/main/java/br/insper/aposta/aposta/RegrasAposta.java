@@ -0,0 +1,98 @@
+package br.insper.aposta.aposta;
+
+import br.insper.aposta.liquidacao.LiquidacaoService;
+import br.insper.aposta.partida.PartidaNaoRealizadaException;
+import br.insper.aposta.partida.RetornarPartidaDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// regras de aposta sem banco nem rede, usadas pelos caminhos bloqueante e reativo
+public final class RegrasAposta {
+
+    private RegrasAposta() {
+    }
+
+    public static Aposta abrir(Aposta aposta, LocalDateTime agora) {
+        aposta.setId(UUID.randomUUID().toString());
+        aposta.setStatus("REALIZADA");
+        aposta.setDataAposta(agora);
+        return aposta;
+    }
+
+    public static Set<Integer> idsPartidas(List<Aposta> apostas) {
+        Set<Integer> idsPartidas = new HashSet<>();
+        for (Aposta aposta : apostas) {
+            if (aposta.getIdPartida() != null) {
+                idsPartidas.add(aposta.getIdPartida());
+            }
+        }
+        return idsPartidas;
+    }
+
+    // registra em resultado os itens recusados e devolve os aceitos, ja abertos, para gravar de uma vez
+    public static List<Aposta> separarLote(List<Aposta> apostas, Map<Integer, RetornarPartidaDTO> partidas,
+                                           ResultadoLoteDTO resultado, LocalDateTime agora) {
+        List<Aposta> aceitas = new ArrayList<>();
+        for (int i = 0; i < apostas.size(); i++) {
+            Aposta aposta = apostas.get(i);
+            String erro = validarLote(aposta, partidas.get(aposta.getIdPartida()));
+
+            if (erro != null) {
+                resultado.getErros().add(new ErroLoteDTO(i, erro));
+            } else {
+                aceitas.add(abrir(aposta, agora));
+            }
+        }
+        return aceitas;
+    }
+
+    // motivo da recusa de um item do lote; null quando a aposta pode ser aceita
+    private static String validarLote(Aposta aposta, RetornarPartidaDTO partida) {
+        if (partida == null) {
+            return "Partida " + aposta.getIdPartida() + " não encontrada";
+        } else if ("REALIZADA".equals(partida.getStatus())) {
+            return "Partida " + aposta.getIdPartida() + " já realizada";
+        } else if (!LiquidacaoService.RESULTADOS.contains(aposta.getResultado())) {
+            return "Resultado " + aposta.getResultado() + " inválido";
+        }
+        return null;
+    }
+
+    // so apostas ainda abertas precisam consultar a partida
+    public static boolean emAberto(Aposta aposta) {
+        return aposta.getStatus().equals("REALIZADA");
+    }
+
+    // Define GANHOU/PERDEU a partir do placar.
+    public static Aposta liquidar(Aposta aposta, RetornarPartidaDTO partidaDTO) {
+        if (!partidaDTO.getStatus().equals("REALIZADA")) {
+            throw new PartidaNaoRealizadaException("Partida não realizada");
+        }
+
+        String vencedor = LiquidacaoService.getResultado(partidaDTO.getPlacarMandante(), partidaDTO.getPlacarVisitante());
+        aposta.setStatus(aposta.getResultado().equals(vencedor) ? "GANHOU" : "PERDEU");
+        return aposta;
+    }
+
+    public static int limitePagina(Integer tamanho) {
+        return tamanho == null ? ApostaService.TAMANHO_PADRAO
+                : Math.min(Math.max(tamanho, 1), ApostaService.TAMANHO_MAXIMO);
+    }
+
+    // a consulta traz um registro a mais que o limite so para saber se existe proxima pagina
+    public static PaginaApostaDTO paginar(List<Aposta> apostas, int limite) {
+        boolean temProxima = apostas.size() > limite;
+        if (temProxima) {
+            apostas = new ArrayList<>(apostas.subList(0, limite));
+        }
+
+        String proximoCursor = temProxima ? apostas.get(apostas.size() - 1).getId() : null;
+        return new PaginaApostaDTO(apostas, proximoCursor);
+    }
+}
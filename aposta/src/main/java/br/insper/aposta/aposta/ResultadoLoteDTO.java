@@ -0,0 +1,14 @@
+package br.insper.aposta.aposta;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class ResultadoLoteDTO {
+    private List<Aposta> apostas = new ArrayList<>();
+    private List<ErroLoteDTO> erros = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+package br.insper.aposta.common;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class EstadoGravacaoDTO {
+    private boolean ativa;
+    private Instant inicio;
+    // bytes ja gravados no repositorio do jfr
+    private long tamanho;
+    // preenchido ao parar: onde ficou o .jfr
+    private String arquivo;
+}
@@ -0,0 +1,98 @@
+package br.insper.aposta.common;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// liga e desliga em tempo de execucao uma gravacao jfr continua com o perfil default do jdk
+// somado ao jfr/aposta.jfc. o buffer circular guarda no maximo max-idade/max-tamanho.
+@Component
+@Endpoint(id = "jfr")
+public class GravacaoJfrEndpoint implements DisposableBean {
+
+    static final String PERFIL = "/jfr/aposta.jfc";
+
+    @Value("${jfr.max-idade-min}")
+    private long maxIdade;
+
+    @Value("${jfr.max-tamanho-mb}")
+    private long maxTamanho;
+
+    @Value("${jfr.diretorio}")
+    private String diretorio;
+
+    private Recording gravacao;
+
+    @ReadOperation
+    public synchronized EstadoGravacaoDTO estado() {
+        EstadoGravacaoDTO estado = new EstadoGravacaoDTO();
+        if (gravacao != null) {
+            estado.setAtiva(gravacao.getState() == RecordingState.RUNNING);
+            estado.setInicio(gravacao.getStartTime());
+            estado.setTamanho(gravacao.getSize());
+        }
+        return estado;
+    }
+
+    @WriteOperation
+    public synchronized EstadoGravacaoDTO iniciar() throws IOException, ParseException {
+        if (gravacao == null) {
+            Map<String, String> configuracao = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+            try (Reader perfil = new InputStreamReader(getClass().getResourceAsStream(PERFIL), StandardCharsets.UTF_8)) {
+                configuracao.putAll(Configuration.create(perfil).getSettings());
+            }
+            gravacao = new Recording(configuracao);
+            gravacao.setName("aposta");
+            gravacao.setToDisk(true);
+            gravacao.setMaxAge(Duration.ofMinutes(maxIdade));
+            gravacao.setMaxSize(maxTamanho * 1024 * 1024);
+            gravacao.start();
+        }
+        return estado();
+    }
+
+    // para a gravacao e grava o que estiver no buffer em diretorio/aposta-<inicio>.jfr
+    @DeleteOperation
+    public synchronized EstadoGravacaoDTO parar() throws IOException {
+        EstadoGravacaoDTO estado = estado();
+        if (gravacao == null) {
+            return estado;
+        }
+        Path arquivo = Path.of(diretorio, "aposta-" + gravacao.getStartTime().toEpochMilli() + ".jfr");
+        try {
+            gravacao.stop();
+            gravacao.dump(arquivo);
+        } finally {
+            gravacao.close();
+            gravacao = null;
+        }
+        estado.setAtiva(false);
+        estado.setArquivo(arquivo.toString());
+        return estado;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (gravacao != null) {
+            gravacao.close();
+            gravacao = null;
+        }
+    }
+}
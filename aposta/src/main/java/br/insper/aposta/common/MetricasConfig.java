@@ -0,0 +1,26 @@
+package br.insper.aposta.common;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricasConfig {
+
+    // cada metodo publico dos services anotados com @Observed vira um timer (servico.chamadas, tags class
+    // e method) e um span filho da requisicao. nos services reativos o aspecto so mediria a montagem do
+    // Mono, entao eles ficam sem @Observed; o tempo deles aparece nos spans http e do mongo
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    // o span de cada comando do mongo (TracingConfig) tambem geraria um timer, repetindo mongodb.driver.commands
+    @Bean
+    public MeterFilter semTimerDuplicadoMongo() {
+        return MeterFilter.denyNameStartsWith("spring.data.mongodb.command");
+    }
+
+}
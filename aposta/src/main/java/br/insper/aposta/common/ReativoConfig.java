@@ -0,0 +1,57 @@
+package br.insper.aposta.common;
+
+import com.mongodb.connection.TransportSettings;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+@Configuration
+@Profile("reativo")
+public class ReativoConfig implements WebFluxConfigurer, DisposableBean {
+
+    @Autowired
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    // com o tomcat no classpath (perfil padrao) o spring usaria o tomcat tambem para o webflux
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    // o spring cria um event loop do netty para cada cliente mongo (bloqueante e reativo) mas so encerra o ultimo,
+    // e o driver bloqueante nao encerra um event loop criado por ele; os dois clientes usam este, encerrado com o contexto.
+    // fica fora do contexto porque um bean Executor desligaria o applicationTaskExecutor do spring
+    private final NioEventLoopGroup eventLoopMongo = new NioEventLoopGroup(0, new DefaultThreadFactory("mongo-netty", true));
+
+    // roda depois do customizador do spring para trocar o event loop dele por este
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public MongoClientSettingsBuilderCustomizer transporteMongoNetty() {
+        return builder -> builder.transportSettings(TransportSettings.nettyBuilder()
+                .eventLoopGroup(eventLoopMongo)
+                .build());
+    }
+
+    @Override
+    public void destroy() {
+        eventLoopMongo.shutdownGracefully();
+    }
+
+    // controllers que ainda retornam valores comuns (liquidacao, estatisticas) usam o mongo bloqueante;
+    // eles rodam no executor de tarefas da aplicacao para nao travar as threads do netty
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        configurer.setExecutor(applicationTaskExecutor);
+    }
+}
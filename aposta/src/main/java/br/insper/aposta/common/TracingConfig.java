@@ -0,0 +1,34 @@
+package br.insper.aposta.common;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// o contexto do trace chega e sai pelo header traceparent (RestTemplate e WebClient ja vem instrumentados
+// pelo builder do boot); aqui ficam so o exportador local, ligado pelo perfil tracing, e os spans do mongo
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @Profile("tracing")
+    public ArquivoSpanExporter arquivoSpanExporter(@Value("${tracing.arquivo}") String arquivo) throws IOException {
+        return new ArquivoSpanExporter(Path.of(arquivo));
+    }
+
+    // um span por comando do mongo, filho do span corrente (thread local no bloqueante, contexto do reactor no reativo)
+    @Bean
+    public MongoClientSettingsBuilderCustomizer observacaoMongo(ObservationRegistry observationRegistry) {
+        return settings -> settings
+                .contextProvider(ContextProviderFactory.create(observationRegistry))
+                .addCommandListener(new MongoObservationCommandListener(observationRegistry));
+    }
+
+}
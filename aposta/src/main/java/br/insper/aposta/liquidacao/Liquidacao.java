@@ -0,0 +1,26 @@
+package br.insper.aposta.liquidacao;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// registro de uma liquidacao em massa, um por partida
+@Document
+@Getter
+@Setter
+public class Liquidacao {
+
+    @Id
+    private Integer idPartida;
+    private Integer placarMandante;
+    private Integer placarVisitante;
+    private String resultado; // resultado vencedor: EMPATE, VITORIA_MANDANTE, VITORIA_VISITANTE
+    private String status; // EM_ANDAMENTO, CONCLUIDA
+    private long apostasLiquidadas;
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+
+}
@@ -0,0 +1,53 @@
+package br.insper.aposta.liquidacao;
+
+import br.insper.aposta.common.Erro;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.LocalDateTime;
+
+@ControllerAdvice(assignableTypes = LiquidacaoController.class)
+public class LiquidacaoAdvice {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @ExceptionHandler(LiquidacaoNaoEncontradaException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public Erro liquidacaoNaoEncontradaHandler(LiquidacaoNaoEncontradaException e) {
+        meterRegistry.counter("excecoes.nao.encontrado", "recurso", "liquidacao").increment();
+        Erro erro = new Erro();
+        erro.setMensagem(e.getMessage());
+        erro.setData(LocalDateTime.now());
+        erro.setCodigo(404);
+        return erro;
+    }
+
+    @ExceptionHandler(LiquidacaoDivergenteException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Erro liquidacaoDivergenteHandler(LiquidacaoDivergenteException e) {
+        Erro erro = new Erro();
+        erro.setMensagem(e.getMessage());
+        erro.setData(LocalDateTime.now());
+        erro.setCodigo(409);
+        return erro;
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Erro liquidacaoInvalidaHandler(IllegalArgumentException e) {
+        Erro erro = new Erro();
+        erro.setMensagem(e.getMessage());
+        erro.setData(LocalDateTime.now());
+        erro.setCodigo(400);
+        return erro;
+    }
+}
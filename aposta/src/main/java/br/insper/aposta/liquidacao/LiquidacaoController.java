@@ -0,0 +1,22 @@
+package br.insper.aposta.liquidacao;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/liquidacao")
+public class LiquidacaoController {
+
+    @Autowired
+    private LiquidacaoService liquidacaoService;
+
+    @PostMapping
+    public Liquidacao liquidarPartida(@RequestBody LiquidarPartidaDTO partida) {
+        return liquidacaoService.liquidarPartida(partida);
+    }
+
+    @GetMapping("/{idPartida}")
+    public Liquidacao getLiquidacao(@PathVariable Integer idPartida) {
+        return liquidacaoService.getLiquidacao(idPartida);
+    }
+}
@@ -0,0 +1,7 @@
+package br.insper.aposta.liquidacao;
+
+public class LiquidacaoDivergenteException extends RuntimeException {
+    public LiquidacaoDivergenteException(String message) {
+        super(message);
+    }
+}
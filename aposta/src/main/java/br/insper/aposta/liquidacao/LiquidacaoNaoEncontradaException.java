@@ -0,0 +1,7 @@
+package br.insper.aposta.liquidacao;
+
+public class LiquidacaoNaoEncontradaException extends RuntimeException {
+    public LiquidacaoNaoEncontradaException(String message) {
+        super(message);
+    }
+}
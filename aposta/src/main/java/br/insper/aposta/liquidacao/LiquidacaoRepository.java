@@ -0,0 +1,8 @@
+package br.insper.aposta.liquidacao;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LiquidacaoRepository extends MongoRepository<Liquidacao, Integer> {
+}
@@ -0,0 +1,114 @@
+package br.insper.aposta.liquidacao;
+
+import br.insper.aposta.aposta.Aposta;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@Observed(name = "servico.chamadas")
+public class LiquidacaoService {
+
+    public static final List<String> RESULTADOS = List.of("EMPATE", "VITORIA_MANDANTE", "VITORIA_VISITANTE");
+
+    @Autowired
+    private LiquidacaoRepository liquidacaoRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public Liquidacao liquidarPartida(LiquidarPartidaDTO partida) {
+        if (partida.getIdPartida() == null || partida.getPlacarMandante() == null
+                || partida.getPlacarVisitante() == null) {
+            throw new IllegalArgumentException("Partida e placar são obrigatórios");
+        }
+
+        Liquidacao liquidacao = iniciar(partida);
+        if (liquidacao.getStatus().equals("CONCLUIDA")) {
+            return liquidacao;
+        }
+
+        // uma atualizacao para quem acertou e outra para o resto, cada uma devolvendo sua contagem;
+        // so apostas ainda abertas casam com o filtro, entao reexecutar nao altera nada
+        long ganhou = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("idPartida").is(partida.getIdPartida())
+                        .and("status").is("REALIZADA")
+                        .and("resultado").is(liquidacao.getResultado())),
+                Update.update("status", "GANHOU"), Aposta.class).getModifiedCount();
+        long perdeu = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("idPartida").is(partida.getIdPartida())
+                        .and("status").is("REALIZADA")
+                        .and("resultado").ne(liquidacao.getResultado())),
+                Update.update("status", "PERDEU"), Aposta.class).getModifiedCount();
+        meterRegistry.counter("apostas.liquidadas", "status", "GANHOU").increment(ganhou);
+        meterRegistry.counter("apostas.liquidadas", "status", "PERDEU").increment(perdeu);
+
+        return mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(partida.getIdPartida())),
+                new Update()
+                        .inc("apostasLiquidadas", ganhou + perdeu)
+                        .set("status", "CONCLUIDA")
+                        .set("fim", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                Liquidacao.class);
+    }
+
+    public Liquidacao getLiquidacao(Integer idPartida) {
+        return liquidacaoRepository.findById(idPartida)
+                .orElseThrow(() -> new LiquidacaoNaoEncontradaException("Liquidação não encontrada"));
+    }
+
+    // cria o registro EM_ANDAMENTO ou reaproveita o existente quando o placar confere
+    private Liquidacao iniciar(LiquidarPartidaDTO partida) {
+        Liquidacao existente = liquidacaoRepository.findById(partida.getIdPartida()).orElse(null);
+        if (existente != null) {
+            return conferirPlacar(existente, partida);
+        }
+
+        Liquidacao liquidacao = new Liquidacao();
+        liquidacao.setIdPartida(partida.getIdPartida());
+        liquidacao.setPlacarMandante(partida.getPlacarMandante());
+        liquidacao.setPlacarVisitante(partida.getPlacarVisitante());
+        liquidacao.setResultado(getResultado(partida.getPlacarMandante(), partida.getPlacarVisitante()));
+        liquidacao.setStatus("EM_ANDAMENTO");
+        liquidacao.setInicio(LocalDateTime.now());
+        // insert e nao save (upsert): duas liquidacoes simultaneas da mesma partida nao se sobrescrevem,
+        // a segunda cai na chave duplicada e passa pela mesma conferencia de placar
+        try {
+            return liquidacaoRepository.insert(liquidacao);
+        } catch (DuplicateKeyException e) {
+            return conferirPlacar(liquidacaoRepository.findById(partida.getIdPartida()).orElseThrow(() -> e), partida);
+        }
+    }
+
+    private Liquidacao conferirPlacar(Liquidacao existente, LiquidarPartidaDTO partida) {
+        if (!Objects.equals(existente.getPlacarMandante(), partida.getPlacarMandante())
+                || !Objects.equals(existente.getPlacarVisitante(), partida.getPlacarVisitante())) {
+            throw new LiquidacaoDivergenteException("Partida já liquidada com outro placar");
+        }
+        return existente;
+    }
+
+    public static String getResultado(int placarMandante, int placarVisitante) {
+        if (placarMandante > placarVisitante) {
+            return "VITORIA_MANDANTE";
+        } else if (placarVisitante > placarMandante) {
+            return "VITORIA_VISITANTE";
+        }
+        return "EMPATE";
+    }
+}
@@ -0,0 +1,12 @@
+package br.insper.aposta.liquidacao;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class LiquidarPartidaDTO {
+    private Integer idPartida;
+    private Integer placarMandante;
+    private Integer placarVisitante;
+}
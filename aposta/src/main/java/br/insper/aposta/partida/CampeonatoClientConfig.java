@@ -0,0 +1,249 @@
+package br.insper.aposta.partida;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// cliente http unico para o campeonato (conexoes keep-alive), circuit breaker e cache das partidas consultadas.
+// no perfil reativo o RestTemplate da lugar a um WebClient com as mesmas configuracoes; cache e circuito sao os mesmos.
+@Configuration
+public class CampeonatoClientConfig {
+
+    @Value("${campeonato.url}")
+    private String url;
+
+    @Value("${campeonato.http.max-conexoes}")
+    private int maxConexoes;
+
+    @Value("${campeonato.http.timeout-conexao-ms}")
+    private long timeoutConexao;
+
+    @Value("${campeonato.http.timeout-leitura-ms}")
+    private long timeoutLeitura;
+
+    @Value("${campeonato.http.timeout-pool-ms}")
+    private long timeoutPool;
+
+    @Value("${campeonato.http.keep-alive-ms}")
+    private long keepAlive;
+
+    @Value("${campeonato.cache.tamanho-maximo}")
+    private long tamanhoMaximoCache;
+
+    @Value("${campeonato.cache.ttl-agendada-ms}")
+    private long ttlAgendada;
+
+    @Value("${campeonato.cache.ttl-realizada-ms}")
+    private long ttlRealizada;
+
+    @Value("${campeonato.circuito.taxa-falhas}")
+    private float taxaFalhas;
+
+    @Value("${campeonato.circuito.taxa-lentas}")
+    private float taxaLentas;
+
+    @Value("${campeonato.circuito.chamada-lenta-ms}")
+    private long chamadaLenta;
+
+    @Value("${campeonato.circuito.janela}")
+    private int janela;
+
+    @Value("${campeonato.circuito.minimo-chamadas}")
+    private int minimoChamadas;
+
+    @Value("${campeonato.circuito.espera-aberto-ms}")
+    private long esperaAberto;
+
+    @Value("${campeonato.circuito.chamadas-meio-aberto}")
+    private int chamadasMeioAberto;
+
+    // registro so para o TaggedCircuitBreakerMetrics encontrar o circuito
+    @Bean
+    public CircuitBreakerRegistry registroCircuitos() {
+        return CircuitBreakerRegistry.ofDefaults();
+    }
+
+    @Bean
+    public CircuitBreaker circuitoCampeonato(CircuitBreakerRegistry registroCircuitos) {
+        return registroCircuitos.circuitBreaker("campeonato", CircuitBreakerConfig.custom()
+                .failureRateThreshold(taxaFalhas)
+                .slowCallRateThreshold(taxaLentas)
+                .slowCallDurationThreshold(Duration.ofMillis(chamadaLenta))
+                .slidingWindowSize(janela)
+                .minimumNumberOfCalls(minimoChamadas)
+                .waitDurationInOpenState(Duration.ofMillis(esperaAberto))
+                .permittedNumberOfCallsInHalfOpenState(chamadasMeioAberto)
+                // 404 e resposta do campeonato sobre a partida, nao falha dele: nao conta para abrir o circuito.
+                // os outros 4xx (credencial, contrato) contam como falha
+                .ignoreExceptions(HttpClientErrorException.NotFound.class, WebClientResponseException.NotFound.class)
+                .build());
+    }
+
+    @Bean
+    public MeterBinder metricasCircuitos(CircuitBreakerRegistry registroCircuitos) {
+        return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registroCircuitos);
+    }
+
+    @Bean
+    public Cache<Integer, RetornarPartidaDTO> cachePartidas() {
+        return Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximoCache)
+                .expireAfter(new ExpiracaoPartida(TimeUnit.MILLISECONDS.toNanos(ttlAgendada),
+                        TimeUnit.MILLISECONDS.toNanos(ttlRealizada)))
+                .recordStats()
+                .build();
+    }
+
+    @Bean
+    public MeterBinder metricasCachePartidas(Cache<Integer, RetornarPartidaDTO> cachePartidas) {
+        return new CaffeineCacheMetrics<>(cachePartidas, "partidas", List.of());
+    }
+
+    @Bean(destroyMethod = "close")
+    @Profile("!reativo")
+    public PoolConexoesMedido poolConexoesCampeonato() {
+        PoolConexoesMedido pool = new PoolConexoesMedido();
+        // so existe uma rota (o campeonato), entao o limite por rota e o limite total
+        pool.setMaxTotal(maxConexoes);
+        pool.setDefaultMaxPerRoute(maxConexoes);
+        pool.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(timeoutConexao))
+                .setSocketTimeout(Timeout.ofMilliseconds(timeoutLeitura))
+                .setTimeToLive(TimeValue.ofMilliseconds(keepAlive))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build());
+        return pool;
+    }
+
+    // conexoes livres/alugadas/pendentes do pool e a espera por conexao medida pelo PoolConexoesMedido
+    @Bean
+    @Profile("!reativo")
+    public MeterBinder metricasPoolCampeonato(PoolConexoesMedido poolConexoesCampeonato) {
+        return registry -> {
+            new PoolingHttpClientConnectionManagerMetricsBinder(poolConexoesCampeonato, "campeonato").bindTo(registry);
+            FunctionTimer.builder("campeonato.pool.espera", poolConexoesCampeonato,
+                            pool -> pool.getEmprestimos() + pool.getTimeouts(),
+                            PoolConexoesMedido::getEsperaTotalNanos, TimeUnit.NANOSECONDS)
+                    .register(registry);
+            FunctionCounter.builder("campeonato.pool.timeouts", poolConexoesCampeonato, PoolConexoesMedido::getTimeouts)
+                    .register(registry);
+            Gauge.builder("campeonato.pool.aguardando", poolConexoesCampeonato, PoolConexoesMedido::getAguardando)
+                    .register(registry);
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    @Profile("!reativo")
+    public CloseableHttpClient campeonatoHttpClient(PoolConexoesMedido poolConexoesCampeonato) {
+        return HttpClients.custom()
+                .setConnectionManager(poolConexoesCampeonato)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(timeoutPool))
+                        .setResponseTimeout(Timeout.ofMilliseconds(timeoutLeitura))
+                        .build())
+                .setKeepAliveStrategy((resposta, contexto) -> TimeValue.ofMilliseconds(keepAlive))
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAlive))
+                .evictExpiredConnections()
+                .build();
+    }
+
+    @Bean
+    @Profile("!reativo")
+    public RestTemplate campeonatoRestTemplate(RestTemplateBuilder builder, CloseableHttpClient campeonatoHttpClient) {
+        return builder
+                .rootUri(url)
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(campeonatoHttpClient))
+                .build();
+    }
+
+    // pedidos alem do limite de conexoes esperam na fila do pool sem ocupar thread
+    @Bean(destroyMethod = "dispose")
+    @Profile("reativo")
+    public ConnectionProvider conexoesCampeonatoReativo() {
+        return ConnectionProvider.builder("campeonato")
+                .maxConnections(maxConexoes)
+                .pendingAcquireTimeout(Duration.ofMillis(timeoutPool))
+                .maxIdleTime(Duration.ofMillis(keepAlive))
+                .maxLifeTime(Duration.ofMillis(keepAlive))
+                .evictInBackground(Duration.ofMillis(keepAlive))
+                // gauges reactor.netty.connection.provider.* no registro global, que o actuator exporta
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    @Profile("reativo")
+    public WebClient campeonatoWebClient(WebClient.Builder builder, ConnectionProvider conexoesCampeonatoReativo) {
+        HttpClient httpClient = HttpClient.create(conexoesCampeonatoReativo)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) timeoutConexao)
+                .responseTimeout(Duration.ofMillis(timeoutLeitura));
+        return builder
+                .baseUrl(url)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    // partida realizada so muda se o resultado for corrigido: fica bem mais tempo em cache que a agendada,
+    // mas expira para que a correcao chegue as apostas
+    static class ExpiracaoPartida implements Expiry<Integer, RetornarPartidaDTO> {
+
+        private final long ttlAgendadaNanos;
+
+        private final long ttlRealizadaNanos;
+
+        ExpiracaoPartida(long ttlAgendadaNanos, long ttlRealizadaNanos) {
+            this.ttlAgendadaNanos = ttlAgendadaNanos;
+            this.ttlRealizadaNanos = ttlRealizadaNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(Integer idPartida, RetornarPartidaDTO partida, long agora) {
+            return "REALIZADA".equals(partida.getStatus()) ? ttlRealizadaNanos : ttlAgendadaNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Integer idPartida, RetornarPartidaDTO partida, long agora, long duracaoAtual) {
+            return expireAfterCreate(idPartida, partida, agora);
+        }
+
+        @Override
+        public long expireAfterRead(Integer idPartida, RetornarPartidaDTO partida, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+
+}
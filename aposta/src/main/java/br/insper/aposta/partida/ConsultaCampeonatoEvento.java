@@ -0,0 +1,33 @@
+package br.insper.aposta.partida;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// uma chamada http ao campeonato; acertos de cache e chamadas coalescidas nao geram evento
+@Name("br.insper.aposta.ConsultaCampeonato")
+@Label("Consulta ao campeonato")
+@Category({"Aposta", "Campeonato"})
+@Description("GET /partida/{idPartida} feito pelo PartidaService")
+@StackTrace(false)
+class ConsultaCampeonatoEvento extends Event {
+
+    @Label("Partida")
+    int idPartida;
+
+    @Label("Status HTTP")
+    @Description("0 quando nao houve resposta (timeout, conexao recusada, circuito aberto)")
+    int status;
+
+    @Label("Bytes")
+    @Description("Content-Length da resposta; -1 quando o campeonato responde em chunks")
+    @DataAmount
+    long bytes;
+
+    @Label("Erro")
+    String erro;
+}
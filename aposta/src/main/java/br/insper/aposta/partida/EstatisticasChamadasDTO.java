@@ -0,0 +1,18 @@
+package br.insper.aposta.partida;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasChamadasDTO {
+    // chamadas http feitas ao campeonato
+    private long remotas;
+    // consultas que aproveitaram uma chamada ja em andamento para a mesma partida
+    private long coalescidas;
+    private int emAndamento;
+}
@@ -0,0 +1,34 @@
+package br.insper.aposta.partida;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Getter
+@Setter
+public class EstatisticasCircuitoDTO {
+    private String estado;
+    // percentuais na janela atual; -1 enquanto nao ha chamadas suficientes
+    private float taxaFalhas;
+    private float taxaLentas;
+    private long chamadasNaoPermitidas;
+    // quantas vezes cada transicao aconteceu, ex. CLOSED_TO_OPEN
+    private Map<String, Long> transicoes;
+
+    public static EstatisticasCircuitoDTO getEstatisticasCircuitoDTO(CircuitBreaker circuito,
+                                                                     Map<String, LongAdder> transicoesCircuito) {
+        EstatisticasCircuitoDTO dto = new EstatisticasCircuitoDTO();
+        dto.setEstado(circuito.getState().name());
+        dto.setTaxaFalhas(circuito.getMetrics().getFailureRate());
+        dto.setTaxaLentas(circuito.getMetrics().getSlowCallRate());
+        dto.setChamadasNaoPermitidas(circuito.getMetrics().getNumberOfNotPermittedCalls());
+        Map<String, Long> transicoes = new TreeMap<>();
+        transicoesCircuito.forEach((transicao, contador) -> transicoes.put(transicao, contador.sum()));
+        dto.setTransicoes(transicoes);
+        return dto;
+    }
+}
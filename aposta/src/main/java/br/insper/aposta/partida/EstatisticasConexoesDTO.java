@@ -0,0 +1,91 @@
+package br.insper.aposta.partida;
+
+public class EstatisticasConexoesDTO {
+
+    private int emUso;
+    private int disponiveis;
+    private int pendentes;
+    private int maximo;
+    private long emprestimos;
+    private long timeouts;
+    private double esperaMediaMs;
+    private double esperaMaximaMs;
+
+    public static EstatisticasConexoesDTO getEstatisticasConexoesDTO(PoolConexoesMedido pool) {
+        EstatisticasConexoesDTO dto = new EstatisticasConexoesDTO();
+        dto.setEmUso(pool.getTotalStats().getLeased());
+        dto.setDisponiveis(pool.getTotalStats().getAvailable());
+        dto.setPendentes(pool.getTotalStats().getPending());
+        dto.setMaximo(pool.getTotalStats().getMax());
+        dto.setEmprestimos(pool.getEmprestimos());
+        dto.setTimeouts(pool.getTimeouts());
+        long pedidos = pool.getEmprestimos() + pool.getTimeouts();
+        dto.setEsperaMediaMs(pedidos == 0 ? 0 : pool.getEsperaTotalNanos() / 1e6 / pedidos);
+        dto.setEsperaMaximaMs(pool.getEsperaMaximaNanos() / 1e6);
+        return dto;
+    }
+
+    public int getEmUso() {
+        return emUso;
+    }
+
+    public void setEmUso(int emUso) {
+        this.emUso = emUso;
+    }
+
+    public int getDisponiveis() {
+        return disponiveis;
+    }
+
+    public void setDisponiveis(int disponiveis) {
+        this.disponiveis = disponiveis;
+    }
+
+    public int getPendentes() {
+        return pendentes;
+    }
+
+    public void setPendentes(int pendentes) {
+        this.pendentes = pendentes;
+    }
+
+    public int getMaximo() {
+        return maximo;
+    }
+
+    public void setMaximo(int maximo) {
+        this.maximo = maximo;
+    }
+
+    public long getEmprestimos() {
+        return emprestimos;
+    }
+
+    public void setEmprestimos(long emprestimos) {
+        this.emprestimos = emprestimos;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public void setTimeouts(long timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    public double getEsperaMediaMs() {
+        return esperaMediaMs;
+    }
+
+    public void setEsperaMediaMs(double esperaMediaMs) {
+        this.esperaMediaMs = esperaMediaMs;
+    }
+
+    public double getEsperaMaximaMs() {
+        return esperaMaximaMs;
+    }
+
+    public void setEsperaMaximaMs(double esperaMaximaMs) {
+        this.esperaMaximaMs = esperaMaximaMs;
+    }
+}
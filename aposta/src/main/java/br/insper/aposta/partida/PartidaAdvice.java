@@ -0,0 +1,42 @@
+package br.insper.aposta.partida;
+
+import br.insper.aposta.common.Erro;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.LocalDateTime;
+
+@ControllerAdvice
+public class PartidaAdvice {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @ExceptionHandler(PartidaNaoEncontradaException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public Erro partidaNaoEncontradaHandler(PartidaNaoEncontradaException e) {
+        meterRegistry.counter("excecoes.nao.encontrado", "recurso", "partida").increment();
+        Erro erro = new Erro();
+        erro.setMensagem(e.getMessage());
+        erro.setData(LocalDateTime.now());
+        erro.setCodigo(404);
+        return erro;
+    }
+
+    @ExceptionHandler(CampeonatoIndisponivelException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Erro campeonatoIndisponivelHandler(CampeonatoIndisponivelException e) {
+        Erro erro = new Erro();
+        erro.setMensagem(e.getMessage());
+        erro.setData(LocalDateTime.now());
+        erro.setCodigo(503);
+        return erro;
+    }
+}
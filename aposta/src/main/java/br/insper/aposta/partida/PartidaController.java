@@ -0,0 +1,36 @@
+package br.insper.aposta.partida;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/partida")
+@Profile("!reativo")
+public class PartidaController {
+
+    @Autowired
+    private PartidaService partidaService;
+
+    @GetMapping("/conexoes/estatisticas")
+    public EstatisticasConexoesDTO getEstatisticasConexoes() {
+        return partidaService.getEstatisticasConexoes();
+    }
+
+    @GetMapping("/cache/estatisticas")
+    public EstatisticasCacheDTO getEstatisticasCache() {
+        return partidaService.getEstatisticasCache();
+    }
+
+    @GetMapping("/chamadas/estatisticas")
+    public EstatisticasChamadasDTO getEstatisticasChamadas() {
+        return partidaService.getEstatisticasChamadas();
+    }
+
+    @GetMapping("/circuito/estatisticas")
+    public EstatisticasCircuitoDTO getEstatisticasCircuito() {
+        return partidaService.getEstatisticasCircuito();
+    }
+}
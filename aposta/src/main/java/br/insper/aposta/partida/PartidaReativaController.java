@@ -0,0 +1,32 @@
+package br.insper.aposta.partida;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// sem /conexoes/estatisticas: o pool do reactor-netty aparece em /actuator/prometheus (reactor_netty_connection_provider_*)
+@RestController
+@RequestMapping("/partida")
+@Profile("reativo")
+public class PartidaReativaController {
+
+    @Autowired
+    private PartidaReativaService partidaReativaService;
+
+    @GetMapping("/cache/estatisticas")
+    public EstatisticasCacheDTO getEstatisticasCache() {
+        return partidaReativaService.getEstatisticasCache();
+    }
+
+    @GetMapping("/chamadas/estatisticas")
+    public EstatisticasChamadasDTO getEstatisticasChamadas() {
+        return partidaReativaService.getEstatisticasChamadas();
+    }
+
+    @GetMapping("/circuito/estatisticas")
+    public EstatisticasCircuitoDTO getEstatisticasCircuito() {
+        return partidaReativaService.getEstatisticasCircuito();
+    }
+}
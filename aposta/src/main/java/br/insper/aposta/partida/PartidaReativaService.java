@@ -0,0 +1,139 @@
+package br.insper.aposta.partida;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// contraparte nao bloqueante do PartidaService (perfil reativo): mesmo cache, mesmo circuito e mesma coalescencia,
+// mas a espera pelo campeonato nao ocupa thread
+@Service
+@Profile("reativo")
+public class PartidaReativaService implements MeterBinder {
+
+    @Autowired
+    private WebClient campeonatoWebClient;
+
+    @Autowired
+    private Cache<Integer, RetornarPartidaDTO> cachePartidas;
+
+    @Autowired
+    private CircuitBreaker circuitoCampeonato;
+
+    // chamadas ao campeonato em andamento, por partida
+    private final ConcurrentHashMap<Integer, CompletableFuture<RetornarPartidaDTO>> emAndamento =
+            new ConcurrentHashMap<>();
+
+    private final LongAdder chamadasRemotas = new LongAdder();
+
+    private final LongAdder chamadasCoalescidas = new LongAdder();
+
+    private final Map<String, LongAdder> transicoesCircuito = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void registrarTransicoes() {
+        circuitoCampeonato.getEventPublisher().onStateTransition(evento -> transicoesCircuito
+                .computeIfAbsent(evento.getStateTransition().name(), t -> new LongAdder())
+                .increment());
+    }
+
+    // mesmos contadores de /partida/chamadas/estatisticas, para o /actuator/prometheus
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("campeonato.chamadas.remotas", chamadasRemotas, LongAdder::sum)
+                .description("chamadas http feitas ao campeonato")
+                .register(registry);
+        FunctionCounter.builder("campeonato.chamadas.coalescidas", chamadasCoalescidas, LongAdder::sum)
+                .description("consultas que aproveitaram uma chamada em andamento para a mesma partida")
+                .register(registry);
+        Gauge.builder("campeonato.chamadas.em.andamento", emAndamento, Map::size)
+                .register(registry);
+    }
+
+    public Mono<RetornarPartidaDTO> getPartida(Integer idPartida) {
+        return Mono.defer(() -> {
+            RetornarPartidaDTO emCache = cachePartidas.getIfPresent(idPartida);
+            if (emCache != null) {
+                return Mono.just(emCache);
+            }
+
+            // se ja existe uma chamada para a mesma partida, espera por ela em vez de abrir outra
+            CompletableFuture<RetornarPartidaDTO> chamada = new CompletableFuture<>();
+            CompletableFuture<RetornarPartidaDTO> existente = emAndamento.putIfAbsent(idPartida, chamada);
+            if (existente != null) {
+                chamadasCoalescidas.increment();
+                return aguardar(existente);
+            }
+
+            // a chamada segue mesmo se quem a abriu desistir: as outras consultas e o cache aproveitam o resultado
+            chamadasRemotas.increment();
+            campeonatoWebClient.get()
+                    .uri("/partida/{idPartida}", idPartida)
+                    .retrieve()
+                    .bodyToMono(RetornarPartidaDTO.class)
+                    .transformDeferred(CircuitBreakerOperator.of(circuitoCampeonato))
+                    .switchIfEmpty(Mono.error(() -> new PartidaNaoEncontradaException("Partida não encontrada")))
+                    .onErrorMap(this::traduzir)
+                    .subscribe(partida -> {
+                        // grava no cache antes de sair de emAndamento para nao abrir janela a uma segunda chamada
+                        cachePartidas.put(idPartida, partida);
+                        emAndamento.remove(idPartida, chamada);
+                        chamada.complete(partida);
+                    }, erro -> {
+                        emAndamento.remove(idPartida, chamada);
+                        chamada.completeExceptionally(erro);
+                    });
+            return aguardar(chamada);
+        });
+    }
+
+    // mesma traducao do PartidaService, com as excecoes do WebClient
+    private Throwable traduzir(Throwable e) {
+        if (e instanceof WebClientResponseException.NotFound) {
+            return new PartidaNaoEncontradaException("Partida não encontrada");
+        }
+        if (e instanceof CallNotPermittedException
+                || e instanceof WebClientRequestException
+                || e instanceof WebClientResponseException) {
+            return new CampeonatoIndisponivelException("Campeonato indisponível", e);
+        }
+        return e;
+    }
+
+    // cancelar a espera nao cancela a chamada compartilhada
+    private Mono<RetornarPartidaDTO> aguardar(CompletableFuture<RetornarPartidaDTO> chamada) {
+        return Mono.fromFuture(chamada, true);
+    }
+
+    public EstatisticasChamadasDTO getEstatisticasChamadas() {
+        return new EstatisticasChamadasDTO(chamadasRemotas.sum(), chamadasCoalescidas.sum(), emAndamento.size());
+    }
+
+    public EstatisticasCircuitoDTO getEstatisticasCircuito() {
+        return EstatisticasCircuitoDTO.getEstatisticasCircuitoDTO(circuitoCampeonato, transicoesCircuito);
+    }
+
+    public EstatisticasCacheDTO getEstatisticasCache() {
+        // aplica remocoes pendentes para que tamanho e contagem de remocoes fiquem exatos
+        cachePartidas.cleanUp();
+        return EstatisticasCacheDTO.getEstatisticasCacheDTO(cachePartidas.estimatedSize(), cachePartidas.stats());
+    }
+
+}
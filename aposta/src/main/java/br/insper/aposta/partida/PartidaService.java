@@ -1,17 +1,203 @@
 package br.insper.aposta.partida;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
 @Service
-public class PartidaService {
+@Observed(name = "servico.chamadas")
+@Profile("!reativo")
+public class PartidaService implements MeterBinder {
+
+    @Autowired
+    private RestTemplate campeonatoRestTemplate;
+
+    @Autowired
+    private PoolConexoesMedido poolConexoesCampeonato;
+
+    @Autowired
+    private Cache<Integer, RetornarPartidaDTO> cachePartidas;
+
+    @Autowired
+    private CircuitBreaker circuitoCampeonato;
+
+    // chamadas ao campeonato em andamento, por partida
+    private final ConcurrentHashMap<Integer, CompletableFuture<ResponseEntity<RetornarPartidaDTO>>> emAndamento =
+            new ConcurrentHashMap<>();
+
+    private final LongAdder chamadasRemotas = new LongAdder();
+
+    private final LongAdder chamadasCoalescidas = new LongAdder();
+
+    private final Map<String, LongAdder> transicoesCircuito = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void registrarTransicoes() {
+        circuitoCampeonato.getEventPublisher().onStateTransition(evento -> transicoesCircuito
+                .computeIfAbsent(evento.getStateTransition().name(), t -> new LongAdder())
+                .increment());
+    }
+
+    // mesmos contadores de /partida/chamadas/estatisticas, para o /actuator/prometheus
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("campeonato.chamadas.remotas", chamadasRemotas, LongAdder::sum)
+                .description("chamadas http feitas ao campeonato")
+                .register(registry);
+        FunctionCounter.builder("campeonato.chamadas.coalescidas", chamadasCoalescidas, LongAdder::sum)
+                .description("consultas que aproveitaram uma chamada em andamento para a mesma partida")
+                .register(registry);
+        Gauge.builder("campeonato.chamadas.em.andamento", emAndamento, Map::size)
+                .register(registry);
+    }
 
     public ResponseEntity<RetornarPartidaDTO> getPartida(Integer idPartida) {
-        RestTemplate restTemplate = new RestTemplate();
-        return restTemplate.getForEntity(
-                "http://localhost:8080/partida/" + idPartida,
-                RetornarPartidaDTO.class);
+        RetornarPartidaDTO emCache = cachePartidas.getIfPresent(idPartida);
+        if (emCache != null) {
+            return ResponseEntity.ok(emCache);
+        }
+
+        // se ja existe uma chamada para a mesma partida, espera por ela em vez de abrir outra
+        CompletableFuture<ResponseEntity<RetornarPartidaDTO>> chamada = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<RetornarPartidaDTO>> existente = emAndamento.putIfAbsent(idPartida, chamada);
+        if (existente != null) {
+            chamadasCoalescidas.increment();
+            return aguardar(existente);
+        }
+
+        try {
+            ResponseEntity<RetornarPartidaDTO> partida =
+                    circuitoCampeonato.executeSupplier(() -> consultarCampeonato(idPartida));
+
+            // grava no cache antes de sair de emAndamento para nao abrir janela a uma segunda chamada
+            if (partida.getStatusCode().is2xxSuccessful() && partida.getBody() != null) {
+                cachePartidas.put(idPartida, partida.getBody());
+            }
+            chamada.complete(partida);
+            return partida;
+        } catch (RuntimeException e) {
+            RuntimeException erro = traduzir(e);
+            chamada.completeExceptionally(erro);
+            throw erro;
+        } catch (Error e) {
+            // sem completar o futuro quem espera em aguardar ficaria bloqueado para sempre
+            chamada.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(idPartida, chamada);
+        }
+    }
+
+    private ResponseEntity<RetornarPartidaDTO> consultarCampeonato(Integer idPartida) {
+        chamadasRemotas.increment();
+        ConsultaCampeonatoEvento evento = new ConsultaCampeonatoEvento();
+        evento.begin();
+        evento.idPartida = idPartida;
+        try {
+            ResponseEntity<RetornarPartidaDTO> partida = campeonatoRestTemplate.getForEntity(
+                    "/partida/{idPartida}",
+                    RetornarPartidaDTO.class,
+                    idPartida);
+            evento.status = partida.getStatusCode().value();
+            evento.bytes = partida.getHeaders().getContentLength();
+            return partida;
+        } catch (HttpStatusCodeException e) {
+            evento.status = e.getStatusCode().value();
+            evento.bytes = e.getResponseBodyAsByteArray().length;
+            evento.erro = e.getClass().getSimpleName();
+            throw e;
+        } catch (RuntimeException e) {
+            evento.erro = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            evento.commit();
+        }
+    }
+
+    // 404: o campeonato nao conhece a partida; circuito aberto, timeout, outro 4xx ou 5xx: campeonato indisponivel.
+    // partidas realizadas ficam no cache por campeonato.cache.ttl-realizada-ms e continuam respondendo com o circuito aberto.
+    private RuntimeException traduzir(RuntimeException e) {
+        if (e instanceof HttpClientErrorException.NotFound) {
+            return new PartidaNaoEncontradaException("Partida não encontrada");
+        }
+        if (e instanceof CallNotPermittedException
+                || e instanceof ResourceAccessException
+                || e instanceof HttpStatusCodeException) {
+            return new CampeonatoIndisponivelException("Campeonato indisponível", e);
+        }
+        return e;
+    }
+
+    // repassa o resultado ou a mesma excecao da chamada compartilhada
+    private ResponseEntity<RetornarPartidaDTO> aguardar(CompletableFuture<ResponseEntity<RetornarPartidaDTO>> chamada) {
+        try {
+            return chamada.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    // uma consulta por partida distinta; partidas inexistentes ficam fora do mapa
+    public Map<Integer, RetornarPartidaDTO> getPartidas(Collection<Integer> idsPartidas) {
+        Map<Integer, RetornarPartidaDTO> partidas = new HashMap<>();
+        for (Integer idPartida : new HashSet<>(idsPartidas)) {
+            try {
+                ResponseEntity<RetornarPartidaDTO> partida = getPartida(idPartida);
+                if (partida.getStatusCode().is2xxSuccessful() && partida.getBody() != null) {
+                    partidas.put(idPartida, partida.getBody());
+                }
+            } catch (PartidaNaoEncontradaException e) {
+                // partida inexistente: quem chamou decide o que fazer com o item
+            }
+        }
+        return partidas;
+    }
+
+    public EstatisticasConexoesDTO getEstatisticasConexoes() {
+        return EstatisticasConexoesDTO.getEstatisticasConexoesDTO(poolConexoesCampeonato);
+    }
+
+    public EstatisticasChamadasDTO getEstatisticasChamadas() {
+        return new EstatisticasChamadasDTO(chamadasRemotas.sum(), chamadasCoalescidas.sum(), emAndamento.size());
+    }
+
+    public EstatisticasCircuitoDTO getEstatisticasCircuito() {
+        return EstatisticasCircuitoDTO.getEstatisticasCircuitoDTO(circuitoCampeonato, transicoesCircuito);
+    }
+
+    public EstatisticasCacheDTO getEstatisticasCache() {
+        // aplica remocoes pendentes para que tamanho e contagem de remocoes fiquem exatos
+        cachePartidas.cleanUp();
+        return EstatisticasCacheDTO.getEstatisticasCacheDTO(cachePartidas.estimatedSize(), cachePartidas.stats());
     }
 
 }
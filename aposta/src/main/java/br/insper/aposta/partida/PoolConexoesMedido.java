@@ -0,0 +1,75 @@
+package br.insper.aposta.partida;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// pool de conexoes que mede quanto tempo cada requisicao espera por uma conexao livre
+public class PoolConexoesMedido extends PoolingHttpClientConnectionManager {
+
+    private final LongAdder emprestimos = new LongAdder();
+    private final LongAdder esperaTotalNanos = new LongAdder();
+    private final LongAccumulator esperaMaximaNanos = new LongAccumulator(Long::max, 0);
+    private final LongAdder timeouts = new LongAdder();
+    private final AtomicLong aguardando = new AtomicLong();
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest pedido = super.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                long inicio = System.nanoTime();
+                aguardando.incrementAndGet();
+                try {
+                    ConnectionEndpoint endpoint = pedido.get(timeout);
+                    emprestimos.increment();
+                    return endpoint;
+                } catch (TimeoutException e) {
+                    timeouts.increment();
+                    throw e;
+                } finally {
+                    aguardando.decrementAndGet();
+                    long espera = System.nanoTime() - inicio;
+                    esperaTotalNanos.add(espera);
+                    esperaMaximaNanos.accumulate(espera);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return pedido.cancel();
+            }
+        };
+    }
+
+    public long getEmprestimos() {
+        return emprestimos.sum();
+    }
+
+    public long getEsperaTotalNanos() {
+        return esperaTotalNanos.sum();
+    }
+
+    public long getEsperaMaximaNanos() {
+        return esperaMaximaNanos.get();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public long getAguardando() {
+        return aguardando.get();
+    }
+}
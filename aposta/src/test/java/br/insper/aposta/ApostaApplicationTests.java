@@ -1,13 +1,28 @@
 package br.insper.aposta;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// criar indices exige o mongo no ar; aqui so verificamos a montagem do contexto
+@SpringBootTest(properties = "spring.data.mongodb.auto-index-creation=false")
 class ApostaApplicationTests {
 
+	@Autowired
+	MeterRegistry meterRegistry;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void testMetricasDoCampeonatoRegistradas() {
+		Assertions.assertNotNull(meterRegistry.find("httpcomponents.httpclient.pool.total.max").tag("httpclient", "campeonato").gauge());
+		Assertions.assertNotNull(meterRegistry.find("campeonato.pool.espera").functionTimer());
+		Assertions.assertNotNull(meterRegistry.find("resilience4j.circuitbreaker.state").tag("name", "campeonato").gauge());
+		Assertions.assertNotNull(meterRegistry.find("cache.gets").tag("cache", "partidas").functionCounter());
+	}
+
 }
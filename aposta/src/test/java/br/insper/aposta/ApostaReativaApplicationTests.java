@@ -0,0 +1,197 @@
+package br.insper.aposta;
+
+import br.insper.aposta.aposta.Aposta;
+import br.insper.aposta.aposta.ResultadoLoteDTO;
+import com.sun.net.httpserver.HttpServer;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+// perfil reativo de ponta a ponta: webflux, mongo reativo (servidor em memoria) e campeonato falso
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@ActiveProfiles("reativo")
+@AutoConfigureObservability(tracing = false)
+class ApostaReativaApplicationTests {
+
+	private static HttpServer campeonato;
+
+	private static MongoServer mongo;
+
+	@Autowired
+	ApplicationContext contexto;
+
+	@Autowired
+	WebTestClient cliente;
+
+	@LocalManagementPort
+	int portaGerencia;
+
+	private WebTestClient gerencia() {
+		return WebTestClient.bindToServer().baseUrl("http://127.0.0.1:" + portaGerencia).build();
+	}
+
+	@DynamicPropertySource
+	static void configurar(DynamicPropertyRegistry registry) throws IOException {
+		campeonato = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		campeonato.createContext("/partida/", troca -> {
+			String caminho = troca.getRequestURI().getPath();
+			int idPartida = Integer.parseInt(caminho.substring(caminho.lastIndexOf('/') + 1));
+			// partida 1 agendada, 2 realizada (2 x 1), as demais nao existem
+			if (idPartida > 2) {
+				troca.sendResponseHeaders(404, -1);
+				troca.close();
+				return;
+			}
+			String status = idPartida == 2 ? "REALIZADA" : "AGENDADA";
+			byte[] corpo = ("{\"nomeMandante\":\"a\",\"nomeVisitante\":\"b\",\"placarMandante\":2,"
+					+ "\"placarVisitante\":1,\"status\":\"" + status + "\"}").getBytes(StandardCharsets.UTF_8);
+			troca.getResponseHeaders().add("Content-Type", "application/json");
+			troca.sendResponseHeaders(200, corpo.length);
+			troca.getResponseBody().write(corpo);
+			troca.close();
+		});
+		campeonato.start();
+
+		mongo = new MongoServer(new MemoryBackend());
+		InetSocketAddress enderecoMongo = mongo.bind();
+
+		registry.add("campeonato.url", () -> "http://localhost:" + campeonato.getAddress().getPort());
+		registry.add("spring.data.mongodb.uri", () -> "mongodb://localhost:" + enderecoMongo.getPort() + "/aposta");
+	}
+
+	@AfterAll
+	static void encerrar() {
+		campeonato.stop(0);
+		mongo.shutdownNow();
+	}
+
+	@Test
+	void testSobeComoAplicacaoReativa() {
+		ReactiveWebServerApplicationContext reativo =
+				Assertions.assertInstanceOf(ReactiveWebServerApplicationContext.class, contexto);
+		Assertions.assertInstanceOf(NettyWebServer.class, reativo.getWebServer());
+		Assertions.assertFalse(contexto.containsBean("apostaController"));
+		Assertions.assertFalse(contexto.containsBean("campeonatoRestTemplate"));
+	}
+
+	@Test
+	void testSalvarELiquidarAposta() {
+		Aposta aposta = cliente.post().uri("/aposta")
+				.bodyValue(Map.of("idPartida", 2, "resultado", "VITORIA_MANDANTE", "valor", 10.0))
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(Aposta.class)
+				.returnResult().getResponseBody();
+		Assertions.assertEquals("REALIZADA", aposta.getStatus());
+
+		cliente.get().uri("/aposta/{idAposta}", aposta.getId())
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.status").isEqualTo("GANHOU");
+	}
+
+	@Test
+	void testErrosUsamOsMesmosAdvices() {
+		cliente.post().uri("/aposta")
+				.bodyValue(Map.of("idPartida", 99, "resultado", "EMPATE", "valor", 10.0))
+				.exchange()
+				.expectStatus().isNotFound()
+				.expectBody().jsonPath("$.codigo").isEqualTo(404);
+
+		// controller bloqueante da liquidacao continua atendendo no perfil reativo
+		cliente.get().uri("/liquidacao/{idPartida}", 99)
+				.exchange()
+				.expectStatus().isNotFound();
+	}
+
+	@Test
+	void testPrometheusExpoeLiquidacaoEConexoes() {
+		Aposta aposta = cliente.post().uri("/aposta")
+				.bodyValue(Map.of("idPartida", 2, "resultado", "EMPATE", "valor", 10.0))
+				.exchange()
+				.expectBody(Aposta.class)
+				.returnResult().getResponseBody();
+		cliente.get().uri("/aposta/{idAposta}", aposta.getId()).exchange().expectStatus().isOk();
+		cliente.get().uri("/aposta/{idAposta}", "inexistente").exchange().expectStatus().isNotFound();
+
+		String metricas = gerencia().get().uri("/actuator/prometheus")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(String.class)
+				.returnResult().getResponseBody();
+
+		Assertions.assertTrue(metricas.contains("apostas_liquidadas_total{status=\"PERDEU\""));
+		Assertions.assertTrue(metricas.contains("excecoes_nao_encontrado_total{recurso=\"aposta\""));
+		Assertions.assertTrue(metricas.contains("reactor_netty_connection_provider_total_connections{"));
+		Assertions.assertTrue(metricas.contains("mongodb_driver_commands_seconds_bucket{"));
+		Assertions.assertTrue(metricas.contains("http_client_requests_seconds_bucket{"));
+		Assertions.assertTrue(metricas.contains("campeonato_chamadas_remotas_total "));
+		Assertions.assertTrue(metricas.contains("campeonato_chamadas_coalescidas_total "));
+		// bucket de slo por endpoint
+		Assertions.assertTrue(metricas.matches(
+				"(?s).*http_server_requests_seconds_bucket\\{[^}]*uri=\"/aposta/\\{idAposta}\"[^}]*le=\"0\\.1\",?}.*"));
+	}
+
+	@Test
+	void testActuatorSoNaPortaDeGerencia() {
+		cliente.post().uri("/actuator/jfr").exchange().expectStatus().is4xxClientError();
+		cliente.get().uri("/actuator/prometheus").exchange().expectStatus().isNotFound();
+
+		gerencia().get().uri("/actuator/jfr")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.ativa").isEqualTo(false);
+	}
+
+	@Test
+	void testLoteEExportacao() {
+		ResultadoLoteDTO resultado = cliente.post().uri("/aposta/lote")
+				.bodyValue(List.of(
+						Map.of("idPartida", 1, "resultado", "EMPATE", "valor", 10.0),
+						Map.of("idPartida", 1, "resultado", "VITORIA_VISITANTE", "valor", 5.0),
+						Map.of("idPartida", 2, "resultado", "EMPATE", "valor", 5.0)))
+				.exchange()
+				.expectStatus().isCreated()
+				.expectBody(ResultadoLoteDTO.class)
+				.returnResult().getResponseBody();
+		Assertions.assertEquals(2, resultado.getApostas().size());
+		Assertions.assertEquals(1, resultado.getErros().size());
+
+		List<Aposta> exportadas = cliente.get().uri("/aposta/stream?idPartida=1")
+				.accept(MediaType.APPLICATION_NDJSON)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+				.expectBodyList(Aposta.class)
+				.returnResult().getResponseBody();
+		Assertions.assertEquals(2, exportadas.size());
+
+		cliente.get().uri("/aposta?idPartida=1&tamanho=1")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.apostas.length()").isEqualTo(1)
+				.jsonPath("$.proximoCursor").isNotEmpty();
+	}
+
+}
@@ -0,0 +1,167 @@
+package br.insper.aposta;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+// POST /aposta -> PartidaService -> GET /partida/{id} no campeonato (falso) e save no mongo, tudo no mesmo trace
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@AutoConfigureObservability(metrics = false)
+@ActiveProfiles("tracing")
+@Import(TracingTests.ColetorEmMemoria.class)
+class TracingTests {
+
+	private static final List<String> traceparents = new CopyOnWriteArrayList<>();
+
+	private static HttpServer campeonato;
+
+	private static MongoServer mongo;
+
+	private static Path arquivoSpans;
+
+	@TestConfiguration
+	static class ColetorEmMemoria {
+
+		@Bean
+		InMemorySpanExporter coletor() {
+			return InMemorySpanExporter.create();
+		}
+	}
+
+	@Autowired
+	TestRestTemplate cliente;
+
+	@Autowired
+	InMemorySpanExporter coletor;
+
+	@Autowired
+	SdkTracerProvider tracerProvider;
+
+	@DynamicPropertySource
+	static void configurar(DynamicPropertyRegistry registry) throws IOException {
+		campeonato = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		campeonato.createContext("/partida/", troca -> {
+			traceparents.add(troca.getRequestHeaders().getFirst("traceparent"));
+			byte[] corpo = ("{\"nomeMandante\":\"a\",\"nomeVisitante\":\"b\",\"placarMandante\":0,"
+					+ "\"placarVisitante\":0,\"status\":\"AGENDADA\"}").getBytes(StandardCharsets.UTF_8);
+			troca.getResponseHeaders().add("Content-Type", "application/json");
+			troca.sendResponseHeaders(200, corpo.length);
+			troca.getResponseBody().write(corpo);
+			troca.close();
+		});
+		campeonato.start();
+
+		mongo = new MongoServer(new MemoryBackend());
+		InetSocketAddress enderecoMongo = mongo.bind();
+		arquivoSpans = Files.createTempFile("spans", ".jsonl");
+
+		registry.add("campeonato.url", () -> "http://localhost:" + campeonato.getAddress().getPort());
+		registry.add("spring.data.mongodb.uri", () -> "mongodb://localhost:" + enderecoMongo.getPort() + "/aposta");
+		registry.add("tracing.arquivo", () -> arquivoSpans.toString());
+	}
+
+	@AfterAll
+	static void encerrar() throws IOException {
+		campeonato.stop(0);
+		mongo.shutdownNow();
+		Files.deleteIfExists(arquivoSpans);
+	}
+
+	@Test
+	void testTraceAtravessaAChamadaAoCampeonato() throws IOException {
+		ResponseEntity<String> resposta = cliente.postForEntity("/aposta",
+				Map.of("idPartida", 1, "resultado", "EMPATE", "valor", 10.0), String.class);
+		Assertions.assertEquals(HttpStatus.OK, resposta.getStatusCode());
+
+		// o campeonato recebeu o contexto w3c: 00-<traceId>-<spanId do cliente>-01
+		Assertions.assertEquals(1, traceparents.size());
+		String[] traceparent = traceparents.get(0).split("-");
+		String traceId = traceparent[1];
+
+		List<SpanData> spans = aguardarSpans(traceId, "http post /aposta");
+		SpanData servidor = buscar(spans, "http post /aposta");
+		SpanData cliente = spans.stream()
+				.filter(span -> span.getSpanId().equals(traceparent[2]))
+				.findFirst().orElseThrow();
+		SpanData partidaService = buscar(spans, "partida-service#get-partida");
+
+		Assertions.assertEquals("http get", cliente.getName());
+		Assertions.assertEquals(partidaService.getSpanId(), cliente.getParentSpanId());
+		Assertions.assertEquals(buscar(spans, "aposta-service#salvar").getSpanId(), partidaService.getParentSpanId());
+		Assertions.assertEquals(servidor.getSpanId(), buscar(spans, "aposta-service#salvar").getParentSpanId());
+		// o save da aposta no mongo (colecao.comando) tambem entra no trace
+		Assertions.assertEquals(servidor.getTraceId(), buscar(spans, "aposta.update").getTraceId());
+
+		// e o mesmo trace chega ao arquivo local
+		ObjectMapper objectMapper = new ObjectMapper();
+		List<JsonNode> linhas = Files.readAllLines(arquivoSpans).stream()
+				.map(linha -> {
+					try {
+						return objectMapper.readTree(linha);
+					} catch (IOException e) {
+						throw new IllegalStateException(e);
+					}
+				})
+				.filter(linha -> linha.get("traceId").asText().equals(traceId))
+				.toList();
+		Assertions.assertEquals(spans.size(), linhas.size());
+		Assertions.assertTrue(linhas.stream().allMatch(linha -> "aposta".equals(linha.get("servico").asText())));
+	}
+
+	// o span do servidor fecha depois que a resposta sai; espera ele chegar ao coletor
+	private List<SpanData> aguardarSpans(String traceId, String ultimo) {
+		for (int tentativa = 0; tentativa < 50; tentativa++) {
+			tracerProvider.forceFlush().join(1, TimeUnit.SECONDS);
+			List<SpanData> spans = coletor.getFinishedSpanItems().stream()
+					.filter(span -> span.getTraceId().equals(traceId))
+					.toList();
+			if (spans.stream().anyMatch(span -> span.getName().equals(ultimo))) {
+				return spans;
+			}
+			try {
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		throw new AssertionError("span " + ultimo + " nao foi exportado");
+	}
+
+	private SpanData buscar(List<SpanData> spans, String nome) {
+		return spans.stream()
+				.filter(span -> span.getName().equals(nome))
+				.findFirst()
+				.orElseThrow(() -> new AssertionError("sem span " + nome + " em " + spans.stream().map(SpanData::getName).toList()));
+	}
+
+}
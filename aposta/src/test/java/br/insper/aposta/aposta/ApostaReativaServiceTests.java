@@ -0,0 +1,168 @@
+package br.insper.aposta.aposta;
+
+import br.insper.aposta.partida.CampeonatoIndisponivelException;
+import br.insper.aposta.partida.PartidaNaoEncontradaException;
+import br.insper.aposta.partida.PartidaReativaService;
+import br.insper.aposta.partida.RetornarPartidaDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+public class ApostaReativaServiceTests {
+
+    @InjectMocks
+    ApostaReativaService apostaReativaService;
+
+    @Mock
+    ApostaReativaRepository apostaReativaRepository;
+
+    @Mock
+    PartidaReativaService partidaReativaService;
+
+    @Spy
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Aposta prepararAposta(String status, String resultado, Integer idPartida) {
+        Aposta aposta = new Aposta();
+        aposta.setId(UUID.randomUUID().toString());
+        aposta.setStatus(status);
+        aposta.setResultado(resultado);
+        aposta.setIdPartida(idPartida);
+        return aposta;
+    }
+
+    private RetornarPartidaDTO prepararPartidaDTO(String status, int placarMandante, int placarVisitante) {
+        RetornarPartidaDTO partidaDTO = new RetornarPartidaDTO();
+        partidaDTO.setStatus(status);
+        partidaDTO.setPlacarMandante(placarMandante);
+        partidaDTO.setPlacarVisitante(placarVisitante);
+        return partidaDTO;
+    }
+
+    @Test
+    public void testGetApostaQuandoGanhou() {
+        // Preparação
+        Aposta aposta = prepararAposta("REALIZADA", "VITORIA_MANDANTE", 1);
+        Mockito.when(apostaReativaRepository.findById(aposta.getId())).thenReturn(Mono.just(aposta));
+        Mockito.when(partidaReativaService.getPartida(1)).thenReturn(Mono.just(prepararPartidaDTO("REALIZADA", 2, 1)));
+        Mockito.when(apostaReativaRepository.save(aposta)).thenReturn(Mono.just(aposta));
+
+        // Execução
+        Aposta resultado = apostaReativaService.getAposta(aposta.getId()).block();
+
+        // Verificação
+        Assertions.assertEquals("GANHOU", resultado.getStatus());
+        Assertions.assertEquals(1, meterRegistry.counter("apostas.liquidadas", "status", "GANHOU").count());
+    }
+
+    @Test
+    public void testGetApostaJaLiquidadaNaoConsultaPartida() {
+        // Preparação
+        Aposta aposta = prepararAposta("PERDEU", "EMPATE", 1);
+        Mockito.when(apostaReativaRepository.findById(aposta.getId())).thenReturn(Mono.just(aposta));
+
+        // Execução
+        Aposta resultado = apostaReativaService.getAposta(aposta.getId()).block();
+
+        // Verificação
+        Assertions.assertEquals("PERDEU", resultado.getStatus());
+        Mockito.verifyNoInteractions(partidaReativaService);
+    }
+
+    @Test
+    public void testGetApostaQuandoNaoEncontrada() {
+        // Preparação
+        Mockito.when(apostaReativaRepository.findById("x")).thenReturn(Mono.empty());
+
+        // Execução e Verificação
+        Assertions.assertThrows(ApostaNaoEncontradaException.class,
+                () -> apostaReativaService.getAposta("x").block());
+    }
+
+    @Test
+    public void testGetApostaComCampeonatoIndisponivel() {
+        // Preparação
+        Aposta aposta = prepararAposta("REALIZADA", "EMPATE", 1);
+        Mockito.when(apostaReativaRepository.findById(aposta.getId())).thenReturn(Mono.just(aposta));
+        Mockito.when(partidaReativaService.getPartida(1))
+                .thenReturn(Mono.error(new CampeonatoIndisponivelException("Campeonato indisponível", null)));
+
+        // Execução
+        Aposta resultado = apostaReativaService.getAposta(aposta.getId()).block();
+
+        // Verificação
+        Assertions.assertEquals("REALIZADA", resultado.getStatus());
+        Mockito.verify(apostaReativaRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    public void testSalvarApostaQuandoPartidaNaoEncontrada() {
+        // Preparação
+        Aposta aposta = prepararAposta(null, "EMPATE", 1);
+        Mockito.when(partidaReativaService.getPartida(1))
+                .thenReturn(Mono.error(new PartidaNaoEncontradaException("Partida não encontrada")));
+
+        // Execução e Verificação
+        Assertions.assertThrows(PartidaNaoEncontradaException.class,
+                () -> apostaReativaService.salvar(aposta).block());
+        Mockito.verify(apostaReativaRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    public void testSalvarLoteRejeitaPorItem() {
+        // Preparação
+        List<Aposta> apostas = List.of(
+                prepararAposta(null, "EMPATE", 1),
+                prepararAposta(null, "EMPATE", 2),
+                prepararAposta(null, "EMPATE", 3),
+                prepararAposta(null, "GOLEADA", 1));
+        Mockito.when(partidaReativaService.getPartida(1)).thenReturn(Mono.just(prepararPartidaDTO("AGENDADA", 0, 0)));
+        Mockito.when(partidaReativaService.getPartida(2)).thenReturn(Mono.just(prepararPartidaDTO("REALIZADA", 1, 0)));
+        Mockito.when(partidaReativaService.getPartida(3))
+                .thenReturn(Mono.error(new PartidaNaoEncontradaException("Partida não encontrada")));
+        Mockito.when(apostaReativaRepository.insert(Mockito.<List<Aposta>>any()))
+                .thenAnswer(invocacao -> Flux.fromIterable(new ArrayList<Aposta>(invocacao.getArgument(0))));
+
+        // Execução
+        ResultadoLoteDTO resultado = apostaReativaService.salvarLote(apostas).block();
+
+        // Verificação
+        Assertions.assertEquals(1, resultado.getApostas().size());
+        Assertions.assertEquals("REALIZADA", resultado.getApostas().get(0).getStatus());
+        Assertions.assertEquals(3, resultado.getErros().size());
+        Assertions.assertEquals(1, resultado.getErros().get(0).getIndice());
+        Assertions.assertEquals(2, resultado.getErros().get(1).getIndice());
+        Assertions.assertEquals(3, resultado.getErros().get(2).getIndice());
+    }
+
+    @Test
+    public void testListarApostasComProximaPagina() {
+        // Preparação
+        List<Aposta> apostas = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            apostas.add(prepararAposta("REALIZADA", "EMPATE", 1));
+        }
+        Mockito.when(apostaReativaRepository.buscarPagina(1, null, null, null, 3))
+                .thenReturn(Flux.fromIterable(apostas));
+
+        // Execução
+        PaginaApostaDTO pagina = apostaReativaService.listar(1, null, null, null, 2).block();
+
+        // Verificação
+        Assertions.assertEquals(2, pagina.getApostas().size());
+        Assertions.assertEquals(apostas.get(1).getId(), pagina.getProximoCursor());
+    }
+}
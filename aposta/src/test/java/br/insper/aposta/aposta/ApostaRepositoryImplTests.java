@@ -0,0 +1,70 @@
+package br.insper.aposta.aposta;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class ApostaRepositoryImplTests {
+
+    @InjectMocks
+    ApostaRepositoryImpl apostaRepository;
+
+    @Mock
+    MongoTemplate mongoTemplate;
+
+    @Test
+    public void testBuscarPaginaMontaFiltroECursor() {
+        // Preparação
+        Mockito.when(mongoTemplate.find(Mockito.any(Query.class), Mockito.eq(Aposta.class)))
+                .thenReturn(new ArrayList<>());
+
+        // Execução
+        apostaRepository.buscarPagina(7, "REALIZADA", null, "abc", 51);
+
+        // Verificação
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        Mockito.verify(mongoTemplate).find(query.capture(), Mockito.eq(Aposta.class));
+
+        Document filtro = query.getValue().getQueryObject();
+        Assertions.assertEquals(7, filtro.get("idPartida"));
+        Assertions.assertEquals("REALIZADA", filtro.get("status"));
+        Assertions.assertFalse(filtro.containsKey("resultado"));
+        Assertions.assertEquals(new Document("$gt", "abc"), filtro.get("_id"));
+        Assertions.assertEquals(new Document("_id", 1), query.getValue().getSortObject());
+        Assertions.assertEquals(51, query.getValue().getLimit());
+    }
+
+    @Test
+    public void testIndicesDeclaradosNoMapeamento() {
+        // Execução
+        MongoMappingContext contexto = new MongoMappingContext();
+        contexto.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(contexto);
+        List<Document> indices = new ArrayList<>();
+        for (IndexDefinition indice : resolver.resolveIndexFor(Aposta.class)) {
+            indices.add(indice.getIndexKeys());
+        }
+
+        // Verificação
+        Assertions.assertTrue(indices.contains(Document.parse("{'idPartida': 1, '_id': 1}")));
+        Assertions.assertTrue(indices.contains(Document.parse("{'idPartida': 1, 'status': 1, 'resultado': 1, '_id': 1}")));
+        Assertions.assertTrue(indices.contains(Document.parse("{'status': 1, 'resultado': 1, '_id': 1}")));
+        Assertions.assertTrue(indices.contains(Document.parse("{'resultado': 1, '_id': 1}")));
+    }
+}
@@ -1,23 +1,35 @@
 package br.insper.aposta.aposta;
 
+import br.insper.aposta.partida.CampeonatoIndisponivelException;
 import br.insper.aposta.partida.PartidaNaoEncontradaException;
 import br.insper.aposta.partida.PartidaNaoRealizadaException;
 import br.insper.aposta.partida.PartidaService;
 import br.insper.aposta.partida.RetornarPartidaDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 
 @ExtendWith(MockitoExtension.class)
 public class ApostaServiceTests {
@@ -31,6 +43,9 @@ public class ApostaServiceTests {
     @Mock
     PartidaService partidaService;
 
+    @Spy
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private Aposta prepararAposta(String status, String resultado, Integer idPartida) {
         Aposta aposta = new Aposta();
         aposta.setId(UUID.randomUUID().toString());
@@ -128,7 +143,7 @@ public class ApostaServiceTests {
 
         Aposta resultado = apostaService.getAposta("1");
 
-        Assertions.assertEquals("GANHOU", resultado.getStatus());
+        Assertions.assertEquals("GANHOU", resultado.getStatus());        Assertions.assertEquals(1, meterRegistry.counter("apostas.liquidadas", "status", "GANHOU").count());
     }
 
     @Test
@@ -155,11 +170,39 @@ public class ApostaServiceTests {
         apostas.add(prepararAposta("REALIZADA", "VITORIA_MANDANTE", 1));
         apostas.add(prepararAposta("REALIZADA", "EMPATE", 2));
 
-        Mockito.when(apostaRepository.findAll()).thenReturn(apostas);
+        Mockito.when(apostaRepository.buscarPagina(null, null, null, null, ApostaService.TAMANHO_PADRAO + 1))
+                .thenReturn(apostas);
+
+        PaginaApostaDTO resultado = apostaService.listar(null, null, null, null, null);
+
+        Assertions.assertEquals(2, resultado.getApostas().size());
+        Assertions.assertNull(resultado.getProximoCursor());
+    }
+
+    @Test
+    public void testListarApostasComProximaPagina() {
+        List<Aposta> apostas = new ArrayList<>();
+        apostas.add(prepararAposta("REALIZADA", "EMPATE", 1));
+        apostas.add(prepararAposta("REALIZADA", "EMPATE", 1));
+        apostas.add(prepararAposta("REALIZADA", "EMPATE", 1));
+
+        Mockito.when(apostaRepository.buscarPagina(1, "REALIZADA", "EMPATE", "abc", 3))
+                .thenReturn(apostas);
+
+        PaginaApostaDTO resultado = apostaService.listar(1, "REALIZADA", "EMPATE", "abc", 2);
+
+        Assertions.assertEquals(2, resultado.getApostas().size());
+        Assertions.assertEquals(apostas.get(1).getId(), resultado.getProximoCursor());
+    }
+
+    @Test
+    public void testListarApostasLimitaTamanho() {
+        Mockito.when(apostaRepository.buscarPagina(null, null, null, null, ApostaService.TAMANHO_MAXIMO + 1))
+                .thenReturn(new ArrayList<>());
 
-        List<Aposta> resultado = apostaService.listar();
+        PaginaApostaDTO resultado = apostaService.listar(null, null, null, null, 100000);
 
-        Assertions.assertEquals(2, resultado.size());
+        Assertions.assertTrue(resultado.getApostas().isEmpty());
     }
 
     @Test
@@ -255,4 +298,106 @@ public class ApostaServiceTests {
         // Verificação: A aposta deve ter perdido
         Assertions.assertEquals("PERDEU", resultado.getStatus());
     }
+
+    @Test
+    public void testSalvarLoteRejeitaPorItem() {
+        // Preparação
+        List<Aposta> apostas = new ArrayList<>();
+        apostas.add(prepararAposta(null, "EMPATE", 1));
+        apostas.add(prepararAposta(null, "VITORIA_MANDANTE", 2));
+        apostas.add(prepararAposta(null, "VITORIA_VISITANTE", 3));
+        apostas.add(prepararAposta(null, "VITORIA_VISITANTE", 1));
+        apostas.add(prepararAposta(null, "GOLEADA", 1));
+
+        Map<Integer, RetornarPartidaDTO> partidas = new HashMap<>();
+        partidas.put(1, prepararPartidaDTO("AGENDADA", 0, 0));
+        partidas.put(2, prepararPartidaDTO("REALIZADA", 1, 0));
+
+        Mockito.when(partidaService.getPartidas(Set.of(1, 2, 3))).thenReturn(partidas);
+        Mockito.when(apostaRepository.insert(Mockito.<List<Aposta>>any())).thenAnswer(i -> i.getArgument(0));
+
+        // Execução
+        ResultadoLoteDTO resultado = apostaService.salvarLote(apostas);
+
+        // Verificação
+        Assertions.assertEquals(2, resultado.getApostas().size());
+        Assertions.assertEquals(3, resultado.getErros().size());
+        Assertions.assertEquals(1, resultado.getErros().get(0).getIndice());
+        Assertions.assertEquals(2, resultado.getErros().get(1).getIndice());
+        Assertions.assertEquals(4, resultado.getErros().get(2).getIndice());
+        for (Aposta aposta : resultado.getApostas()) {
+            Assertions.assertEquals("REALIZADA", aposta.getStatus());
+            Assertions.assertNotNull(aposta.getDataAposta());
+        }
+        Mockito.verify(apostaRepository, Mockito.times(1)).insert(Mockito.<List<Aposta>>any());
+        Mockito.verify(apostaRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    public void testSalvarLoteSemApostasValidasNaoGrava() {
+        // Preparação
+        List<Aposta> apostas = new ArrayList<>();
+        apostas.add(prepararAposta(null, "EMPATE", 9));
+        Mockito.when(partidaService.getPartidas(Set.of(9))).thenReturn(new HashMap<>());
+
+        // Execução
+        ResultadoLoteDTO resultado = apostaService.salvarLote(apostas);
+
+        // Verificação
+        Assertions.assertTrue(resultado.getApostas().isEmpty());
+        Assertions.assertEquals(1, resultado.getErros().size());
+        Mockito.verifyNoInteractions(apostaRepository);
+    }
+
+    @Test
+    public void testGetApostaComCampeonatoIndisponivel() {
+        // Preparação
+        Aposta aposta = prepararAposta("REALIZADA", "EMPATE", 1);
+        Mockito.when(apostaRepository.findById("1")).thenReturn(Optional.of(aposta));
+        Mockito.when(partidaService.getPartida(1))
+                .thenThrow(new CampeonatoIndisponivelException("Campeonato indisponível", null));
+
+        // Execução
+        Aposta resultado = apostaService.getAposta("1");
+
+        // Verificação
+        Assertions.assertEquals("REALIZADA", resultado.getStatus());
+        Mockito.verify(apostaRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    public void testGetApostaGeraEventoJfrDeLiquidacao() throws IOException {
+        // Preparação
+        Aposta aberta = prepararAposta("REALIZADA", "VITORIA_VISITANTE", 7);
+        Aposta liquidada = prepararAposta("GANHOU", "EMPATE", 7);
+        Mockito.when(apostaRepository.findById("aberta")).thenReturn(Optional.of(aberta));
+        Mockito.when(apostaRepository.findById("liquidada")).thenReturn(Optional.of(liquidada));
+        Mockito.when(partidaService.getPartida(7))
+                .thenReturn(new ResponseEntity<>(prepararPartidaDTO("REALIZADA", 2, 1), HttpStatus.OK));
+        Mockito.when(apostaRepository.save(aberta)).thenReturn(aberta);
+        Path arquivo = Files.createTempFile("liquidacao-aposta", ".jfr");
+        List<RecordedEvent> eventos;
+
+        // Execução
+        try (Recording gravacao = new Recording()) {
+            gravacao.enable("br.insper.aposta.LiquidacaoAposta");
+            gravacao.start();
+            apostaService.getAposta("aberta");
+            apostaService.getAposta("liquidada");
+            gravacao.stop();
+            gravacao.dump(arquivo);
+            eventos = RecordingFile.readAllEvents(arquivo);
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+
+        // Verificação: aposta ja liquidada nao gera evento
+        Assertions.assertEquals(1, eventos.size());
+        RecordedEvent evento = eventos.get(0);
+        Assertions.assertEquals("aberta", evento.getString("idAposta"));
+        Assertions.assertEquals(7, evento.getInt("idPartida"));
+        Assertions.assertEquals("PERDEU", evento.getString("resultado"));
+        Assertions.assertNull(evento.getString("erro"));
+        Assertions.assertTrue(evento.getDuration("latenciaRemota").compareTo(evento.getDuration()) <= 0);
+    }
 }
@@ -0,0 +1,79 @@
+package br.insper.aposta.benchmark;
+
+import br.insper.aposta.aposta.Aposta;
+import br.insper.aposta.aposta.ApostaService;
+import br.insper.aposta.partida.RetornarPartidaDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApostaBenchmark {
+
+    private static final String[] RESULTADOS = {"EMPATE", "VITORIA_MANDANTE", "VITORIA_VISITANTE"};
+
+    @Param({"100", "10000"})
+    public int tamanho;
+
+    private ApostaService apostaService;
+
+    private List<Aposta> apostas;
+
+    private List<RetornarPartidaDTO> partidas;
+
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void preparar() {
+        apostaService = new ApostaService();
+        apostas = new ArrayList<>();
+        partidas = new ArrayList<>();
+        for (int i = 0; i < tamanho; i++) {
+            Aposta aposta = new Aposta();
+            aposta.setId(UUID.randomUUID().toString());
+            aposta.setIdPartida(i);
+            aposta.setDataAposta(LocalDateTime.now());
+            aposta.setResultado(RESULTADOS[i % RESULTADOS.length]);
+            aposta.setValor(10.0 + i);
+            aposta.setStatus("REALIZADA");
+            apostas.add(aposta);
+
+            RetornarPartidaDTO partida = new RetornarPartidaDTO();
+            partida.setNomeMandante("Time " + i % 20);
+            partida.setNomeVisitante("Time " + (i + 7) % 20);
+            partida.setPlacarMandante(i % 4);
+            partida.setPlacarVisitante(i % 3);
+            partida.setStatus("REALIZADA");
+            partidas.add(partida);
+        }
+
+        // mesma configuracao base do ObjectMapper do Spring Boot (inclui java.time)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public void liquidar(Blackhole blackhole) {
+        for (int i = 0; i < tamanho; i++) {
+            blackhole.consume(apostaService.liquidar(apostas.get(i), partidas.get(i)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarApostas() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(apostas);
+    }
+
+}
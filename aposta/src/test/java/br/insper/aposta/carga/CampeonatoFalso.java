@@ -0,0 +1,80 @@
+package br.insper.aposta.carga;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Substitui o campeonato no teste de carga: GET /partida/{id} com atraso e taxa de erros configuraveis.
+// Toda partida esta realizada, com placar fixo por id, para que GET /aposta/{id} liquide a aposta.
+// O sorteio da n-esima requisicao usa semente + n: a mesma rodada produz a mesma sequencia de atrasos e erros.
+public class CampeonatoFalso {
+
+    private final HttpServer servidor;
+
+    private final AtomicLong sequencia = new AtomicLong();
+
+    private final LongAdder respondidas = new LongAdder();
+
+    private final LongAdder erros = new LongAdder();
+
+    public CampeonatoFalso(long semente, int atrasoMs, int variacaoAtrasoMs, double taxaErros) throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        servidor.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        servidor.createContext("/partida/", troca -> {
+            SplittableRandom sorteio = new SplittableRandom(semente + sequencia.getAndIncrement());
+            long atraso = atrasoMs + (variacaoAtrasoMs > 0 ? sorteio.nextInt(variacaoAtrasoMs + 1) : 0);
+            boolean falhar = sorteio.nextDouble() < taxaErros;
+            if (atraso > 0) {
+                try {
+                    Thread.sleep(atraso);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            respondidas.increment();
+            if (falhar) {
+                erros.increment();
+                troca.sendResponseHeaders(500, -1);
+                troca.close();
+                return;
+            }
+
+            String caminho = troca.getRequestURI().getPath();
+            int idPartida = Integer.parseInt(caminho.substring(caminho.lastIndexOf('/') + 1));
+            byte[] corpo = ("{\"nomeMandante\":\"a\",\"nomeVisitante\":\"b\",\"placarMandante\":" + idPartida % 3
+                    + ",\"placarVisitante\":" + idPartida / 3 % 3 + ",\"status\":\"REALIZADA\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            troca.getResponseHeaders().add("Content-Type", "application/json");
+            troca.sendResponseHeaders(200, corpo.length);
+            troca.getResponseBody().write(corpo);
+            troca.close();
+        });
+    }
+
+    public void iniciar() {
+        servidor.start();
+    }
+
+    public void parar() {
+        servidor.stop(0);
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + servidor.getAddress().getPort();
+    }
+
+    public long getRespondidas() {
+        return respondidas.sum();
+    }
+
+    public long getErros() {
+        return erros.sum();
+    }
+}
@@ -0,0 +1,97 @@
+package br.insper.aposta.carga;
+
+import br.insper.aposta.ApostaApplication;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Teste de carga do aposta com limites: sobe o aposta contra um mongo em memoria e o CampeonatoFalso,
+// aplica o mix do cenario a taxa fixa e compara vazao, erros e p99 por endpoint com os limites.
+//   mvn -Pcarga verify -Dcarga.cenario=<nome> -Dcarga.args="chave=valor ..."
+// Sai com codigo 1 quando algum limite e violado, o que falha o build.
+public class CargaAposta {
+
+    public static void main(String[] args) throws Exception {
+        String nome = args.length > 0 ? args[0] : "padrao";
+        Path saida = Path.of(args.length > 1 ? args[1] : "target/carga");
+        CenarioCarga cenario = CenarioCarga.carregar(nome, Arrays.copyOfRange(args, Math.min(args.length, 2), args.length));
+        // o HttpServer do jdk fecha conexoes ociosas acima de 200 por padrao, o que derrubaria o pool do aposta;
+        // a propriedade vale para a jvm inteira e e lida quando o primeiro servidor sobe
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "4096");
+
+        RodadaCarga rodada = rodar(cenario, saida, System.out);
+
+        List<String> violacoes = rodada.verificar(cenario);
+        if (violacoes.isEmpty()) {
+            System.out.printf("%ncenario %s dentro dos limites%n", cenario.nome);
+        } else {
+            System.out.printf("%ncenario %s fora dos limites:%n", cenario.nome);
+            violacoes.forEach(violacao -> System.out.println("  " + violacao));
+        }
+        System.exit(violacoes.isEmpty() ? 0 : 1);
+    }
+
+    public static RodadaCarga rodar(CenarioCarga cenario, Path saida, PrintStream relatorio) throws Exception {
+        CampeonatoFalso campeonato = new CampeonatoFalso(cenario.semente, cenario.atrasoCampeonatoMs,
+                cenario.variacaoAtrasoMs, cenario.taxaErrosCampeonato);
+        campeonato.iniciar();
+        MongoServer mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress enderecoMongo = mongo.bind();
+
+        try (ConfigurableApplicationContext aposta = iniciarAposta(cenario, campeonato.getUrl(), enderecoMongo.getPort())) {
+            GeradorCarga gerador = new GeradorCarga(((WebServerApplicationContext) aposta).getWebServer().getPort());
+            gerador.popular(cenario.apostasIniciais, cenario.partidas, cenario.semente);
+            // aquecimento com outro plano, subindo de 10% ate a taxa alvo: JIT, pools e cache prontos antes da medicao
+            if (cenario.aquecimentoS > 0) {
+                gerador.executar(GeradorCarga.planejar(cenario, cenario.taxa * cenario.aquecimentoS / 2,
+                        cenario.semente + 1), Math.max(cenario.taxa / 10, 1), cenario.taxa);
+            }
+            String circuitoInicial = gerador.consultar("/partida/circuito/estatisticas");
+            long chamadasAntes = campeonato.getRespondidas();
+            long errosAntes = campeonato.getErros();
+
+            RodadaCarga rodada = gerador.executar(GeradorCarga.planejar(cenario,
+                    cenario.taxa * cenario.duracaoS, cenario.semente), cenario.taxa);
+
+            relatorio.printf("%ncenario=%s modo=%s taxa=%d req/s duracao=%d s semente=%d%n",
+                    cenario.nome, cenario.modo, cenario.taxa, cenario.duracaoS, cenario.semente);
+            relatorio.printf("campeonato falso: atraso %d+%d ms, %d chamadas, %d erros injetados%n%n",
+                    cenario.atrasoCampeonatoMs, cenario.variacaoAtrasoMs,
+                    campeonato.getRespondidas() - chamadasAntes, campeonato.getErros() - errosAntes);
+            rodada.imprimir(relatorio);
+            // transicoes do circuito explicam rajadas de 503 maiores que os erros injetados
+            relatorio.printf("%ncircuito antes: %s%ncircuito depois: %s%n",
+                    circuitoInicial, gerador.consultar("/partida/circuito/estatisticas"));
+            if (saida != null) {
+                rodada.gravarHistogramas(saida.resolve(cenario.nome));
+            }
+            return rodada;
+        } finally {
+            campeonato.parar();
+            mongo.shutdownNow();
+        }
+    }
+
+    private static ConfigurableApplicationContext iniciarAposta(CenarioCarga cenario, String urlCampeonato,
+                                                                int portaMongo) {
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.data.mongodb.uri=mongodb://localhost:" + portaMongo + "/carga",
+                "--campeonato.url=" + urlCampeonato,
+                "--logging.level.root=WARN"));
+        if (!cenario.modo.equals("plataforma")) {
+            argumentos.add("--spring.profiles.active=" + cenario.modo);
+        }
+        cenario.propriedadesAposta.forEach((chave, valor) -> argumentos.add("--" + chave + "=" + valor));
+        return new SpringApplicationBuilder(ApostaApplication.class).run(argumentos.toArray(new String[0]));
+    }
+}
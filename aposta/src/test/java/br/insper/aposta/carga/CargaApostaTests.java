@@ -0,0 +1,61 @@
+package br.insper.aposta.carga;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class CargaApostaTests {
+
+    @Test
+    public void testPlanoRepeteComAMesmaSemente() throws Exception {
+        // Preparação
+        CenarioCarga cenario = CenarioCarga.carregar("fumaca", "taxa=1000", "duracao-s=1");
+
+        // Execução
+        List<GeradorCarga.Operacao> plano = GeradorCarga.planejar(cenario, 1000, cenario.semente);
+        List<GeradorCarga.Operacao> repetido = GeradorCarga.planejar(cenario, 1000, cenario.semente);
+        List<GeradorCarga.Operacao> outro = GeradorCarga.planejar(cenario, 1000, cenario.semente + 1);
+
+        // Verificação
+        boolean diferente = false;
+        for (int i = 0; i < plano.size(); i++) {
+            Assertions.assertEquals(plano.get(i).endpoint, repetido.get(i).endpoint);
+            Assertions.assertEquals(plano.get(i).idPartida, repetido.get(i).idPartida);
+            Assertions.assertEquals(plano.get(i).sorteio, repetido.get(i).sorteio);
+            diferente |= plano.get(i).idPartida != outro.get(i).idPartida;
+        }
+        Assertions.assertTrue(diferente);
+        // mix 30/50/20
+        long salvar = plano.stream().filter(o -> o.endpoint == EndpointCarga.SALVAR).count();
+        Assertions.assertTrue(salvar > 250 && salvar < 350);
+    }
+
+    @Test
+    public void testRodadaCurtaMedeCadaEndpoint(@TempDir Path saida) throws Exception {
+        // Preparação
+        CenarioCarga cenario = CenarioCarga.carregar("fumaca");
+
+        // Execução
+        RodadaCarga rodada = CargaAposta.rodar(cenario, saida, new PrintStream(OutputStream.nullOutputStream()));
+
+        // Verificação
+        Assertions.assertEquals(cenario.taxa * cenario.duracaoS, rodada.getTotal());
+        for (EndpointCarga endpoint : EndpointCarga.values()) {
+            Assertions.assertTrue(rodada.medicoes.get(endpoint).getTotal() > 0);
+            Assertions.assertEquals(0, rodada.medicoes.get(endpoint).getErros(),
+                    endpoint.descricao + " " + rodada.medicoes.get(endpoint).getRespostas());
+            Assertions.assertTrue(Files.size(saida.resolve("fumaca").resolve(endpoint.chave + ".hgrm")) > 0);
+        }
+        Assertions.assertEquals(List.of(), rodada.verificar(cenario));
+
+        List<String> violacoes = rodada.verificar(CenarioCarga.carregar("fumaca", "limite.buscar.p99-ms=0.001"));
+        Assertions.assertEquals(1, violacoes.size());
+        Assertions.assertTrue(violacoes.get(0).startsWith("GET /aposta/{id}: p99"));
+    }
+}
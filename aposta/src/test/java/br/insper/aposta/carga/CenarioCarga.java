@@ -0,0 +1,124 @@
+package br.insper.aposta.carga;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+// Parametros de uma rodada, lidos de carga/<nome>.properties no classpath de teste.
+// Pares chave=valor passados na linha de comando sobrescrevem o arquivo.
+// Chaves aposta.* viram propriedades do spring na aplicacao testada (ex.: aposta.campeonato.cache.ttl-agendada-ms=0).
+// base=<nome> carrega antes outro cenario, que o arquivo atual completa ou sobrescreve.
+public class CenarioCarga {
+
+    final String nome;
+
+    // mesma semente, mesmo plano de requisicoes e mesmas respostas do campeonato falso
+    final long semente;
+
+    // plataforma, virtual ou reativo
+    final String modo;
+
+    // requisicoes por segundo, em modelo aberto: o ritmo nao depende das respostas
+    final int taxa;
+
+    final int duracaoS;
+
+    final int aquecimentoS;
+
+    final int apostasIniciais;
+
+    final int partidas;
+
+    final Map<EndpointCarga, Integer> mix = new EnumMap<>(EndpointCarga.class);
+
+    final int atrasoCampeonatoMs;
+
+    final int variacaoAtrasoMs;
+
+    // fracao das chamadas ao campeonato que devolvem 500
+    final double taxaErrosCampeonato;
+
+    // fracao da taxa alvo que precisa ser atingida
+    final double vazaoMinima;
+
+    // fracao maxima de respostas fora de 2xx por endpoint
+    final double errosMaximos;
+
+    final Map<EndpointCarga, Double> p99MaximoMs = new EnumMap<>(EndpointCarga.class);
+
+    final Map<String, String> propriedadesAposta = new LinkedHashMap<>();
+
+    CenarioCarga(String nome, Properties propriedades) {
+        this.nome = nome;
+        semente = Long.parseLong(obrigatoria(propriedades, "semente"));
+        modo = propriedades.getProperty("modo", "plataforma");
+        taxa = Integer.parseInt(obrigatoria(propriedades, "taxa"));
+        duracaoS = Integer.parseInt(obrigatoria(propriedades, "duracao-s"));
+        aquecimentoS = Integer.parseInt(propriedades.getProperty("aquecimento-s", "0"));
+        apostasIniciais = Integer.parseInt(propriedades.getProperty("apostas-iniciais", "100"));
+        partidas = Integer.parseInt(propriedades.getProperty("partidas", "1000"));
+        atrasoCampeonatoMs = Integer.parseInt(propriedades.getProperty("campeonato.atraso-ms", "0"));
+        variacaoAtrasoMs = Integer.parseInt(propriedades.getProperty("campeonato.variacao-atraso-ms", "0"));
+        taxaErrosCampeonato = Double.parseDouble(propriedades.getProperty("campeonato.taxa-erros", "0"));
+        vazaoMinima = Double.parseDouble(propriedades.getProperty("limite.vazao-minima", "0"));
+        errosMaximos = Double.parseDouble(propriedades.getProperty("limite.erros-maximos", "1"));
+
+        for (EndpointCarga endpoint : EndpointCarga.values()) {
+            mix.put(endpoint, Integer.parseInt(propriedades.getProperty("mix." + endpoint.chave, "0")));
+            String p99 = propriedades.getProperty("limite." + endpoint.chave + ".p99-ms");
+            if (p99 != null) {
+                p99MaximoMs.put(endpoint, Double.parseDouble(p99));
+            }
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Cenario " + nome + " sem mix de endpoints");
+        }
+
+        for (String chave : propriedades.stringPropertyNames()) {
+            if (chave.startsWith("aposta.")) {
+                propriedadesAposta.put(chave.substring("aposta.".length()), propriedades.getProperty(chave));
+            }
+        }
+    }
+
+    static CenarioCarga carregar(String nome, String... sobrescritas) throws IOException {
+        Properties propriedades = ler(nome);
+        for (String sobrescrita : sobrescritas) {
+            int separador = sobrescrita.indexOf('=');
+            if (separador < 0) {
+                throw new IllegalArgumentException("Esperado chave=valor: " + sobrescrita);
+            }
+            propriedades.setProperty(sobrescrita.substring(0, separador), sobrescrita.substring(separador + 1));
+        }
+        return new CenarioCarga(nome, propriedades);
+    }
+
+    private static Properties ler(String nome) throws IOException {
+        Properties arquivo = new Properties();
+        try (InputStream entrada = CenarioCarga.class.getResourceAsStream("/carga/" + nome + ".properties")) {
+            if (entrada == null) {
+                throw new IllegalArgumentException("Cenario carga/" + nome + ".properties nao encontrado");
+            }
+            arquivo.load(entrada);
+        }
+        String base = arquivo.getProperty("base");
+        if (base == null) {
+            return arquivo;
+        }
+        Properties propriedades = ler(base);
+        propriedades.putAll(arquivo);
+        propriedades.remove("base");
+        return propriedades;
+    }
+
+    private static String obrigatoria(Properties propriedades, String chave) {
+        String valor = propriedades.getProperty(chave);
+        if (valor == null) {
+            throw new IllegalArgumentException("Cenario sem a chave " + chave);
+        }
+        return valor;
+    }
+}
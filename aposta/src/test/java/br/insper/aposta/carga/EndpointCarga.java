@@ -0,0 +1,18 @@
+package br.insper.aposta.carga;
+
+// endpoints exercitados pelo teste de carga; a chave e usada no cenario (mix.<chave>, limite.<chave>.p99-ms)
+public enum EndpointCarga {
+
+    SALVAR("salvar", "POST /aposta"),
+    BUSCAR("buscar", "GET /aposta/{id}"),
+    LISTAR("listar", "GET /aposta");
+
+    final String chave;
+
+    final String descricao;
+
+    EndpointCarga(String chave, String descricao) {
+        this.chave = chave;
+        this.descricao = descricao;
+    }
+}
@@ -0,0 +1,181 @@
+package br.insper.aposta.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+// Dispara um plano de requisicoes contra o aposta a taxa fixa (modelo aberto).
+// A latencia conta a partir do instante em que a requisicao deveria sair, nao de quando saiu:
+// se o aposta ou o proprio gerador atrasam, a fila aparece no histograma em vez de reduzir a carga.
+public class GeradorCarga {
+
+    private static final String[] RESULTADOS = {"VITORIA_MANDANTE", "VITORIA_VISITANTE", "EMPATE"};
+
+    private final String base;
+
+    private final HttpClient cliente;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // ids devolvidos pelos POST /aposta, sorteados pelos GET /aposta/{id}
+    private final List<String> idsApostas = Collections.synchronizedList(new ArrayList<>());
+
+    public GeradorCarga(int porta) {
+        base = "http://localhost:" + porta;
+        cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static class Operacao {
+
+        final EndpointCarga endpoint;
+
+        final int idPartida;
+
+        final String resultado;
+
+        // escolhe a aposta do GET /aposta/{id} entre as ja criadas
+        final int sorteio;
+
+        Operacao(EndpointCarga endpoint, int idPartida, String resultado, int sorteio) {
+            this.endpoint = endpoint;
+            this.idPartida = idPartida;
+            this.resultado = resultado;
+            this.sorteio = sorteio;
+        }
+    }
+
+    // o plano depende so do cenario e da semente: a mesma rodada repete o mesmo mix, na mesma ordem
+    public static List<Operacao> planejar(CenarioCarga cenario, int quantidade, long semente) {
+        SplittableRandom sorteio = new SplittableRandom(semente);
+        int pesoTotal = cenario.mix.values().stream().mapToInt(Integer::intValue).sum();
+
+        List<Operacao> plano = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            int peso = sorteio.nextInt(pesoTotal);
+            EndpointCarga escolhido = null;
+            for (Map.Entry<EndpointCarga, Integer> entrada : cenario.mix.entrySet()) {
+                peso -= entrada.getValue();
+                if (peso < 0) {
+                    escolhido = entrada.getKey();
+                    break;
+                }
+            }
+            plano.add(new Operacao(escolhido, sorteio.nextInt(1, cenario.partidas + 1),
+                    RESULTADOS[sorteio.nextInt(RESULTADOS.length)], sorteio.nextInt(Integer.MAX_VALUE)));
+        }
+        return plano;
+    }
+
+    // apostas criadas antes da medicao para que os primeiros GET /aposta/{id} tenham o que buscar
+    public void popular(int apostas, int partidas, long semente) throws IOException, InterruptedException {
+        SplittableRandom sorteio = new SplittableRandom(semente);
+        for (int i = 0; i < apostas; i++) {
+            HttpResponse<String> resposta = cliente.send(
+                    salvar(sorteio.nextInt(1, partidas + 1), RESULTADOS[sorteio.nextInt(RESULTADOS.length)]),
+                    HttpResponse.BodyHandlers.ofString());
+            if (resposta.statusCode() != 200) {
+                throw new IllegalStateException("Falha ao popular apostas: " + resposta.statusCode());
+            }
+            idsApostas.add(objectMapper.readTree(resposta.body()).get("id").asText());
+        }
+    }
+
+    public String consultar(String caminho) throws IOException, InterruptedException {
+        return cliente.send(get(caminho), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    public RodadaCarga executar(List<Operacao> plano, int taxa) {
+        return executar(plano, taxa, taxa);
+    }
+
+    // a taxa cresce de taxaInicial ate taxaFinal ao longo do plano; no aquecimento isso da tempo ao JIT
+    // antes da carga cheia, sem o que as primeiras chamadas lentas abrem o circuito do campeonato
+    public RodadaCarga executar(List<Operacao> plano, int taxaInicial, int taxaFinal) {
+        Map<EndpointCarga, MedicaoEndpoint> medicoes = new EnumMap<>(EndpointCarga.class);
+        for (EndpointCarga endpoint : EndpointCarga.values()) {
+            medicoes.put(endpoint, new MedicaoEndpoint());
+        }
+
+        long inicio = System.nanoTime();
+        long agendada = inicio;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < plano.size(); i++) {
+                double taxa = taxaInicial + (double) (taxaFinal - taxaInicial) * i / plano.size();
+                agendada += (long) (1_000_000_000L / taxa);
+                long espera;
+                while ((espera = agendada - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+                Operacao operacao = plano.get(i);
+                long instante = agendada;
+                executor.submit(() -> enviar(operacao, instante, medicoes.get(operacao.endpoint)));
+            }
+        }
+        // o close do executor espera a ultima resposta
+        double duracaoS = (System.nanoTime() - inicio) / 1e9;
+        return new RodadaCarga(medicoes, plano.size(), duracaoS);
+    }
+
+    private void enviar(Operacao operacao, long agendada, MedicaoEndpoint medicao) {
+        try {
+            HttpResponse<String> resposta = cliente.send(requisicao(operacao), HttpResponse.BodyHandlers.ofString());
+            long latencia = System.nanoTime() - agendada;
+            boolean sucesso = resposta.statusCode() / 100 == 2;
+            medicao.registrar(latencia, String.valueOf(resposta.statusCode()), sucesso);
+            if (sucesso && operacao.endpoint == EndpointCarga.SALVAR) {
+                idsApostas.add(objectMapper.readTree(resposta.body()).get("id").asText());
+            }
+        } catch (IOException e) {
+            medicao.registrar(System.nanoTime() - agendada, e.getClass().getSimpleName(), false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HttpRequest requisicao(Operacao operacao) {
+        return switch (operacao.endpoint) {
+            case SALVAR -> salvar(operacao.idPartida, operacao.resultado);
+            case BUSCAR -> get("/aposta/" + sortearAposta(operacao.sorteio));
+            case LISTAR -> get("/aposta?idPartida=" + operacao.idPartida + "&tamanho=20");
+        };
+    }
+
+    private String sortearAposta(int sorteio) {
+        synchronized (idsApostas) {
+            return idsApostas.get(sorteio % idsApostas.size());
+        }
+    }
+
+    private HttpRequest salvar(int idPartida, String resultado) {
+        String aposta = "{\"idPartida\":" + idPartida + ",\"resultado\":\"" + resultado + "\",\"valor\":10.0}";
+        return HttpRequest.newBuilder(URI.create(base + "/aposta"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(aposta))
+                .build();
+    }
+
+    private HttpRequest get(String caminho) {
+        return HttpRequest.newBuilder(URI.create(base + caminho))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package br.insper.aposta.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// latencias (em microssegundos) e respostas de um endpoint durante a rodada
+public class MedicaoEndpoint {
+
+    // 3 digitos significativos; o histograma cresce sozinho se alguma latencia passar do intervalo inicial
+    final Histogram latencias = new ConcurrentHistogram(3);
+
+    // status http, ou o tipo da excecao quando nao houve resposta
+    private final Map<String, LongAdder> respostas = new ConcurrentHashMap<>();
+
+    private final LongAdder erros = new LongAdder();
+
+    void registrar(long latenciaNanos, String resposta, boolean sucesso) {
+        latencias.recordValue(Math.max(latenciaNanos / 1000, 0));
+        respostas.computeIfAbsent(resposta, r -> new LongAdder()).increment();
+        if (!sucesso) {
+            erros.increment();
+        }
+    }
+
+    long getTotal() {
+        return latencias.getTotalCount();
+    }
+
+    long getErros() {
+        return erros.sum();
+    }
+
+    double percentilMs(double percentil) {
+        return latencias.getValueAtPercentile(percentil) / 1000.0;
+    }
+
+    Map<String, Long> getRespostas() {
+        Map<String, Long> ordenadas = new TreeMap<>();
+        respostas.forEach((resposta, quantidade) -> ordenadas.put(resposta, quantidade.sum()));
+        return ordenadas;
+    }
+}
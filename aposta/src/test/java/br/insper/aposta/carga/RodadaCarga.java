@@ -0,0 +1,85 @@
+package br.insper.aposta.carga;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// resultado de uma rodada: relatorio por endpoint e comparacao com os limites do cenario
+public class RodadaCarga {
+
+    final Map<EndpointCarga, MedicaoEndpoint> medicoes;
+
+    final int planejadas;
+
+    final double duracaoS;
+
+    RodadaCarga(Map<EndpointCarga, MedicaoEndpoint> medicoes, int planejadas, double duracaoS) {
+        this.medicoes = medicoes;
+        this.planejadas = planejadas;
+        this.duracaoS = duracaoS;
+    }
+
+    long getTotal() {
+        return medicoes.values().stream().mapToLong(MedicaoEndpoint::getTotal).sum();
+    }
+
+    double getVazao() {
+        return getTotal() / duracaoS;
+    }
+
+    // uma linha por limite violado; lista vazia quando a rodada passou
+    public List<String> verificar(CenarioCarga cenario) {
+        List<String> violacoes = new ArrayList<>();
+        if (getVazao() < cenario.taxa * cenario.vazaoMinima) {
+            violacoes.add(String.format("vazao %.1f req/s abaixo de %.1f req/s",
+                    getVazao(), cenario.taxa * cenario.vazaoMinima));
+        }
+        for (Map.Entry<EndpointCarga, MedicaoEndpoint> entrada : medicoes.entrySet()) {
+            EndpointCarga endpoint = entrada.getKey();
+            MedicaoEndpoint medicao = entrada.getValue();
+            if (medicao.getTotal() == 0) {
+                continue;
+            }
+            double taxaErros = (double) medicao.getErros() / medicao.getTotal();
+            if (taxaErros > cenario.errosMaximos) {
+                violacoes.add(String.format("%s: %.2f%% de erros acima de %.2f%% %s", endpoint.descricao,
+                        taxaErros * 100, cenario.errosMaximos * 100, medicao.getRespostas()));
+            }
+            Double p99Maximo = cenario.p99MaximoMs.get(endpoint);
+            if (p99Maximo != null && medicao.percentilMs(99) > p99Maximo) {
+                violacoes.add(String.format("%s: p99 %.1f ms acima de %.1f ms",
+                        endpoint.descricao, medicao.percentilMs(99), p99Maximo));
+            }
+        }
+        return violacoes;
+    }
+
+    public void imprimir(PrintStream saida) {
+        saida.printf("%-18s %8s %9s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "total", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "respostas");
+        for (Map.Entry<EndpointCarga, MedicaoEndpoint> entrada : medicoes.entrySet()) {
+            MedicaoEndpoint medicao = entrada.getValue();
+            saida.printf("%-18s %8d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f  %s%n",
+                    entrada.getKey().descricao, medicao.getTotal(), medicao.getTotal() / duracaoS,
+                    medicao.percentilMs(50), medicao.percentilMs(90), medicao.percentilMs(99),
+                    medicao.percentilMs(99.9), medicao.latencias.getMaxValue() / 1000.0, medicao.getRespostas());
+        }
+        saida.printf("%-18s %8d %9.1f   (planejadas %d em %.1f s)%n",
+                "total", getTotal(), getVazao(), planejadas, duracaoS);
+    }
+
+    // distribuicao completa em ms no formato do HdrHistogram (.hgrm), para comparar rodadas no plotter
+    public void gravarHistogramas(Path diretorio) throws IOException {
+        Files.createDirectories(diretorio);
+        for (Map.Entry<EndpointCarga, MedicaoEndpoint> entrada : medicoes.entrySet()) {
+            try (PrintStream arquivo = new PrintStream(
+                    Files.newOutputStream(diretorio.resolve(entrada.getKey().chave + ".hgrm")))) {
+                entrada.getValue().latencias.outputPercentileDistribution(arquivo, 1000.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package br.insper.aposta.liquidacao;
+
+import br.insper.aposta.aposta.Aposta;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.bson.Document;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+public class LiquidacaoServiceTests {
+
+    @InjectMocks
+    LiquidacaoService liquidacaoService;
+
+    @Mock
+    LiquidacaoRepository liquidacaoRepository;
+
+    @Mock
+    MongoTemplate mongoTemplate;
+
+    @Spy
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LiquidarPartidaDTO prepararPartida(int placarMandante, int placarVisitante) {
+        LiquidarPartidaDTO partida = new LiquidarPartidaDTO();
+        partida.setIdPartida(1);
+        partida.setPlacarMandante(placarMandante);
+        partida.setPlacarVisitante(placarVisitante);
+        return partida;
+    }
+
+    private Liquidacao prepararLiquidacao(String status, int placarMandante, int placarVisitante) {
+        Liquidacao liquidacao = new Liquidacao();
+        liquidacao.setIdPartida(1);
+        liquidacao.setPlacarMandante(placarMandante);
+        liquidacao.setPlacarVisitante(placarVisitante);
+        liquidacao.setResultado(LiquidacaoService.getResultado(placarMandante, placarVisitante));
+        liquidacao.setStatus(status);
+        return liquidacao;
+    }
+
+    @Test
+    public void testLiquidarPartidaContaGanhadorasEPerdedoras() {
+        // Preparação
+        Liquidacao concluida = prepararLiquidacao("CONCLUIDA", 2, 1);
+        concluida.setApostasLiquidadas(30);
+
+        Mockito.when(liquidacaoRepository.findById(1)).thenReturn(Optional.empty());
+        Mockito.when(liquidacaoRepository.insert(Mockito.any(Liquidacao.class))).thenAnswer(i -> i.getArgument(0));
+        Mockito.when(mongoTemplate.updateMulti(Mockito.any(Query.class), Mockito.any(Update.class), Mockito.eq(Aposta.class)))
+                .thenReturn(UpdateResult.acknowledged(12, 12L, null))
+                .thenReturn(UpdateResult.acknowledged(18, 18L, null));
+        Mockito.when(mongoTemplate.findAndModify(Mockito.any(Query.class), Mockito.any(Update.class),
+                Mockito.any(FindAndModifyOptions.class), Mockito.eq(Liquidacao.class))).thenReturn(concluida);
+
+        // Execução
+        Liquidacao resultado = liquidacaoService.liquidarPartida(prepararPartida(2, 1));
+
+        // Verificação
+        ArgumentCaptor<Query> filtros = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> atualizacoes = ArgumentCaptor.forClass(Update.class);
+        Mockito.verify(mongoTemplate, Mockito.times(2)).updateMulti(filtros.capture(), atualizacoes.capture(), Mockito.eq(Aposta.class));
+        ArgumentCaptor<Update> conclusao = ArgumentCaptor.forClass(Update.class);
+        Mockito.verify(mongoTemplate).findAndModify(Mockito.any(Query.class), conclusao.capture(),
+                Mockito.any(FindAndModifyOptions.class), Mockito.eq(Liquidacao.class));
+
+        Assertions.assertEquals("REALIZADA", filtros.getAllValues().get(0).getQueryObject().get("status"));
+        Assertions.assertEquals("VITORIA_MANDANTE", filtros.getAllValues().get(0).getQueryObject().get("resultado"));
+        Assertions.assertEquals("GANHOU", atualizacoes.getAllValues().get(0).getUpdateObject().get("$set", Document.class).get("status"));
+        Assertions.assertEquals(new Document("$ne", "VITORIA_MANDANTE"), filtros.getAllValues().get(1).getQueryObject().get("resultado"));
+        Assertions.assertEquals("PERDEU", atualizacoes.getAllValues().get(1).getUpdateObject().get("$set", Document.class).get("status"));
+        Assertions.assertEquals(30L, conclusao.getValue().getUpdateObject().get("$inc", Document.class).get("apostasLiquidadas"));
+        Assertions.assertEquals("CONCLUIDA", resultado.getStatus());
+        Assertions.assertEquals(30, resultado.getApostasLiquidadas());
+        Assertions.assertEquals(12, meterRegistry.counter("apostas.liquidadas", "status", "GANHOU").count());
+        Assertions.assertEquals(18, meterRegistry.counter("apostas.liquidadas", "status", "PERDEU").count());
+    }
+
+    @Test
+    public void testLiquidarPartidaJaConcluida() {
+        // Preparação
+        Liquidacao concluida = prepararLiquidacao("CONCLUIDA", 1, 1);
+        Mockito.when(liquidacaoRepository.findById(1)).thenReturn(Optional.of(concluida));
+
+        // Execução
+        Liquidacao resultado = liquidacaoService.liquidarPartida(prepararPartida(1, 1));
+
+        // Verificação
+        Assertions.assertSame(concluida, resultado);
+        Mockito.verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    public void testLiquidarPartidaEmAndamentoRetoma() {
+        // Preparação
+        Liquidacao emAndamento = prepararLiquidacao("EM_ANDAMENTO", 0, 3);
+        Mockito.when(liquidacaoRepository.findById(1)).thenReturn(Optional.of(emAndamento));
+        Mockito.when(mongoTemplate.updateMulti(Mockito.any(Query.class), Mockito.any(Update.class), Mockito.eq(Aposta.class)))
+                .thenReturn(UpdateResult.acknowledged(5, 5L, null));
+
+        // Execução
+        liquidacaoService.liquidarPartida(prepararPartida(0, 3));
+
+        // Verificação
+        Mockito.verify(liquidacaoRepository, Mockito.never()).insert(Mockito.any(Liquidacao.class));
+        Mockito.verify(mongoTemplate, Mockito.times(2)).updateMulti(Mockito.any(Query.class), Mockito.any(Update.class), Mockito.eq(Aposta.class));
+    }
+
+    @Test
+    public void testLiquidarPartidaComPlacarDivergente() {
+        // Preparação
+        Mockito.when(liquidacaoRepository.findById(1)).thenReturn(Optional.of(prepararLiquidacao("CONCLUIDA", 2, 0)));
+
+        // Execução e Verificação
+        Assertions.assertThrows(LiquidacaoDivergenteException.class,
+                () -> liquidacaoService.liquidarPartida(prepararPartida(0, 2)));
+        Mockito.verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    public void testLiquidarPartidaConcorrenteComOutroPlacar() {
+        // Preparação
+        Mockito.when(liquidacaoRepository.findById(1))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(prepararLiquidacao("EM_ANDAMENTO", 2, 0)));
+        Mockito.when(liquidacaoRepository.insert(Mockito.any(Liquidacao.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+
+        // Execução e Verificação
+        Assertions.assertThrows(LiquidacaoDivergenteException.class,
+                () -> liquidacaoService.liquidarPartida(prepararPartida(0, 2)));
+        Mockito.verify(liquidacaoRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    public void testGetResultado() {
+        Assertions.assertEquals("EMPATE", LiquidacaoService.getResultado(200, 200));
+        Assertions.assertEquals("VITORIA_MANDANTE", LiquidacaoService.getResultado(3, 1));
+        Assertions.assertEquals("VITORIA_VISITANTE", LiquidacaoService.getResultado(0, 1));
+    }
+}
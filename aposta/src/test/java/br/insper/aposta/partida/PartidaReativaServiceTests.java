@@ -0,0 +1,173 @@
+package br.insper.aposta.partida;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.codec.CodecsAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest(classes = {CampeonatoClientConfig.class, PartidaReativaService.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, CodecsAutoConfiguration.class,
+        WebClientAutoConfiguration.class})
+@ActiveProfiles("reativo")
+public class PartidaReativaServiceTests {
+
+    private static final Map<String, AtomicInteger> requisicoes = new ConcurrentHashMap<>();
+
+    private static HttpServer campeonato;
+
+    @Autowired
+    PartidaReativaService partidaReativaService;
+
+    @Autowired
+    CircuitBreaker circuitoCampeonato;
+
+    @DynamicPropertySource
+    static void configurar(DynamicPropertyRegistry registry) throws IOException {
+        campeonato = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        campeonato.setExecutor(Executors.newFixedThreadPool(4));
+        campeonato.createContext("/partida/", troca -> {
+            String caminho = troca.getRequestURI().getPath();
+            requisicoes.computeIfAbsent(caminho, c -> new AtomicInteger()).incrementAndGet();
+            int idPartida = Integer.parseInt(caminho.substring(caminho.lastIndexOf('/') + 1));
+            // ids 300-399 respondem devagar para que as consultas concorrentes se encontrem
+            if (idPartida >= 300 && idPartida < 400) {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (idPartida >= 900) {
+                troca.sendResponseHeaders(idPartida >= 950 ? 500 : idPartida >= 940 ? 401 : 404, -1);
+                troca.close();
+                return;
+            }
+            String status = idPartida % 2 == 0 ? "REALIZADA" : "AGENDADA";
+            byte[] corpo = ("{\"nomeMandante\":\"a\",\"nomeVisitante\":\"b\",\"placarMandante\":1,"
+                    + "\"placarVisitante\":0,\"status\":\"" + status + "\"}").getBytes(StandardCharsets.UTF_8);
+            troca.getResponseHeaders().add("Content-Type", "application/json");
+            troca.sendResponseHeaders(200, corpo.length);
+            troca.getResponseBody().write(corpo);
+            troca.close();
+        });
+        campeonato.start();
+
+        registry.add("campeonato.url", () -> "http://localhost:" + campeonato.getAddress().getPort());
+        registry.add("campeonato.http.max-conexoes", () -> 5);
+        registry.add("campeonato.http.timeout-conexao-ms", () -> 1000);
+        registry.add("campeonato.http.timeout-leitura-ms", () -> 1000);
+        registry.add("campeonato.http.timeout-pool-ms", () -> 1000);
+        registry.add("campeonato.http.keep-alive-ms", () -> 30000);
+        registry.add("campeonato.cache.tamanho-maximo", () -> 100);
+        registry.add("campeonato.cache.ttl-agendada-ms", () -> 200);
+        registry.add("campeonato.circuito.taxa-falhas", () -> 50);
+        registry.add("campeonato.circuito.taxa-lentas", () -> 100);
+        registry.add("campeonato.circuito.chamada-lenta-ms", () -> 5000);
+        registry.add("campeonato.circuito.janela", () -> 100);
+        registry.add("campeonato.circuito.minimo-chamadas", () -> 100);
+        registry.add("campeonato.circuito.espera-aberto-ms", () -> 1000);
+        registry.add("campeonato.circuito.chamadas-meio-aberto", () -> 1);
+    }
+
+    @AfterAll
+    static void encerrar() {
+        campeonato.stop(0);
+    }
+
+    @Test
+    public void testGetPartidaRealizadaUsaCache() {
+        // Execução
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals("REALIZADA", partidaReativaService.getPartida(100).block().getStatus());
+        }
+
+        // Verificação
+        Assertions.assertEquals(1, requisicoes.get("/partida/100").get());
+        Assertions.assertTrue(partidaReativaService.getEstatisticasCache().getAcertos() >= 4);
+    }
+
+    @Test
+    public void testGetPartidaSoChamaQuandoAssinada() {
+        // Execução
+        partidaReativaService.getPartida(102);
+
+        // Verificação
+        Assertions.assertNull(requisicoes.get("/partida/102"));
+    }
+
+    @Test
+    public void testGetPartidaInexistenteNaoContaComoFalha() {
+        // Preparação
+        long falhasAntes = circuitoCampeonato.getMetrics().getNumberOfFailedCalls();
+
+        // Execução
+        Assertions.assertThrows(PartidaNaoEncontradaException.class,
+                () -> partidaReativaService.getPartida(900).block());
+
+        // Verificação
+        Assertions.assertEquals(falhasAntes, circuitoCampeonato.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    public void testGetPartidaComOutro4xxContaComoFalha() {
+        // Preparação
+        long falhasAntes = circuitoCampeonato.getMetrics().getNumberOfFailedCalls();
+
+        // Execução
+        Assertions.assertThrows(CampeonatoIndisponivelException.class,
+                () -> partidaReativaService.getPartida(940).block());
+
+        // Verificação
+        Assertions.assertEquals(falhasAntes + 1, circuitoCampeonato.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    public void testGetPartidaComErroNoCampeonato() {
+        // Execução
+        CampeonatoIndisponivelException erro = Assertions.assertThrows(CampeonatoIndisponivelException.class,
+                () -> partidaReativaService.getPartida(950).block());
+
+        // Verificação
+        Assertions.assertNotNull(erro.getCause());
+    }
+
+    @Test
+    public void testGetPartidaConcorrenteCompartilhaChamada() {
+        // Preparação
+        long coalescidasAntes = partidaReativaService.getEstatisticasChamadas().getCoalescidas();
+
+        // Execução
+        List<RetornarPartidaDTO> partidas = Flux.range(0, 20)
+                .flatMap(i -> partidaReativaService.getPartida(300))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // Verificação
+        Assertions.assertEquals(20, partidas.size());
+        Assertions.assertEquals(1, requisicoes.get("/partida/300").get());
+        Assertions.assertEquals(19, partidaReativaService.getEstatisticasChamadas().getCoalescidas() - coalescidasAntes);
+        Assertions.assertEquals(0, partidaReativaService.getEstatisticasChamadas().getEmAndamento());
+    }
+
+}
@@ -0,0 +1,208 @@
+package br.insper.aposta.partida;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// campeonato falso que injeta erros e lentidao para exercitar o circuit breaker
+@SpringBootTest(classes = {CampeonatoClientConfig.class, PartidaService.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+        RestTemplateAutoConfiguration.class})
+public class PartidaServiceCircuitoTests {
+
+    private static final AtomicReference<String> modo = new AtomicReference<>("OK");
+
+    private static final AtomicInteger requisicoes = new AtomicInteger();
+
+    private static HttpServer campeonato;
+
+    @Autowired
+    PartidaService partidaService;
+
+    @Autowired
+    CircuitBreaker circuitoCampeonato;
+
+    @Autowired
+    Cache<Integer, RetornarPartidaDTO> cachePartidas;
+
+    @DynamicPropertySource
+    static void configurar(DynamicPropertyRegistry registry) throws IOException {
+        campeonato = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        campeonato.setExecutor(Executors.newFixedThreadPool(4));
+        campeonato.createContext("/partida/", troca -> {
+            requisicoes.incrementAndGet();
+            switch (modo.get()) {
+                case "ERRO" -> {
+                    troca.sendResponseHeaders(500, -1);
+                    troca.close();
+                    return;
+                }
+                case "AUSENTE" -> {
+                    troca.sendResponseHeaders(404, -1);
+                    troca.close();
+                    return;
+                }
+                case "RECUSADO" -> {
+                    troca.sendResponseHeaders(401, -1);
+                    troca.close();
+                    return;
+                }
+                case "LENTO" -> {
+                    try {
+                        Thread.sleep(300);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                default -> {
+                }
+            }
+            byte[] corpo = ("{\"nomeMandante\":\"a\",\"nomeVisitante\":\"b\",\"placarMandante\":1,"
+                    + "\"placarVisitante\":0,\"status\":\"REALIZADA\"}").getBytes(StandardCharsets.UTF_8);
+            troca.getResponseHeaders().add("Content-Type", "application/json");
+            troca.sendResponseHeaders(200, corpo.length);
+            troca.getResponseBody().write(corpo);
+            troca.close();
+        });
+        campeonato.start();
+
+        registry.add("campeonato.url", () -> "http://localhost:" + campeonato.getAddress().getPort());
+        registry.add("campeonato.http.timeout-leitura-ms", () -> 1000);
+        registry.add("campeonato.circuito.janela", () -> 4);
+        registry.add("campeonato.circuito.minimo-chamadas", () -> 4);
+        registry.add("campeonato.circuito.chamada-lenta-ms", () -> 200);
+        registry.add("campeonato.circuito.espera-aberto-ms", () -> 300);
+        registry.add("campeonato.circuito.chamadas-meio-aberto", () -> 2);
+    }
+
+    @AfterAll
+    static void encerrar() {
+        campeonato.stop(0);
+    }
+
+    @BeforeEach
+    void limpar() {
+        modo.set("OK");
+        requisicoes.set(0);
+        cachePartidas.invalidateAll();
+        circuitoCampeonato.reset();
+    }
+
+    @Test
+    public void testFalhasAbremCircuitoEFalhamRapido() {
+        // Preparação
+        modo.set("ERRO");
+
+        // Execução
+        for (int i = 1; i <= 4; i++) {
+            int idPartida = i;
+            Assertions.assertThrows(CampeonatoIndisponivelException.class, () -> partidaService.getPartida(idPartida));
+        }
+        Assertions.assertThrows(CampeonatoIndisponivelException.class, () -> partidaService.getPartida(5));
+
+        // Verificação
+        Assertions.assertEquals(4, requisicoes.get());
+        EstatisticasCircuitoDTO estatisticas = partidaService.getEstatisticasCircuito();
+        Assertions.assertEquals("OPEN", estatisticas.getEstado());
+        Assertions.assertEquals(1, estatisticas.getChamadasNaoPermitidas());
+        Assertions.assertTrue(estatisticas.getTransicoes().get("CLOSED_TO_OPEN") >= 1);
+    }
+
+    @Test
+    public void testChamadasLentasAbremCircuito() {
+        // Preparação
+        modo.set("LENTO");
+
+        // Execução
+        for (int i = 11; i <= 14; i++) {
+            partidaService.getPartida(i);
+        }
+
+        // Verificação
+        Assertions.assertEquals("OPEN", partidaService.getEstatisticasCircuito().getEstado());
+        Assertions.assertThrows(CampeonatoIndisponivelException.class, () -> partidaService.getPartida(15));
+        Assertions.assertEquals(4, requisicoes.get());
+    }
+
+    @Test
+    public void testCircuitoFechaAposRecuperacao() throws InterruptedException {
+        // Preparação
+        circuitoCampeonato.transitionToOpenState();
+        modo.set("OK");
+
+        // Execução
+        Thread.sleep(400);
+        partidaService.getPartida(21);
+        partidaService.getPartida(22);
+
+        // Verificação
+        EstatisticasCircuitoDTO estatisticas = partidaService.getEstatisticasCircuito();
+        Assertions.assertEquals("CLOSED", estatisticas.getEstado());
+        Assertions.assertTrue(estatisticas.getTransicoes().get("HALF_OPEN_TO_CLOSED") >= 1);
+    }
+
+    @Test
+    public void testPartidaRealizadaEmCacheRespondeComCircuitoAberto() {
+        // Preparação
+        partidaService.getPartida(31);
+        circuitoCampeonato.transitionToOpenState();
+
+        // Execução
+        RetornarPartidaDTO partida = partidaService.getPartida(31).getBody();
+
+        // Verificação
+        Assertions.assertEquals("REALIZADA", partida.getStatus());
+        Assertions.assertEquals(1, requisicoes.get());
+    }
+
+    @Test
+    public void testNaoEncontradaNaoContaComoFalha() {
+        // Preparação
+        modo.set("AUSENTE");
+
+        // Execução
+        for (int i = 41; i <= 46; i++) {
+            int idPartida = i;
+            Assertions.assertThrows(PartidaNaoEncontradaException.class, () -> partidaService.getPartida(idPartida));
+        }
+
+        // Verificação
+        Assertions.assertEquals("CLOSED", partidaService.getEstatisticasCircuito().getEstado());
+        Assertions.assertEquals(6, requisicoes.get());
+    }
+
+    @Test
+    public void testOutro4xxContaComoFalha() {
+        // Preparação
+        modo.set("RECUSADO");
+
+        // Execução
+        for (int i = 51; i <= 54; i++) {
+            int idPartida = i;
+            Assertions.assertThrows(CampeonatoIndisponivelException.class, () -> partidaService.getPartida(idPartida));
+        }
+
+        // Verificação
+        Assertions.assertEquals("OPEN", partidaService.getEstatisticasCircuito().getEstado());
+        Assertions.assertEquals(4, requisicoes.get());
+    }
+}
@@ -0,0 +1,268 @@
+package br.insper.aposta.partida;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest(classes = {CampeonatoClientConfig.class, PartidaService.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+        RestTemplateAutoConfiguration.class})
+public class PartidaServiceTests {
+
+    private static final Set<Integer> portasClientes = ConcurrentHashMap.newKeySet();
+
+    private static final Map<String, AtomicInteger> requisicoes = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger placarCorrigido = new AtomicInteger(1);
+
+    private static HttpServer campeonato;
+
+    @Autowired
+    PartidaService partidaService;
+
+    @DynamicPropertySource
+    static void configurar(DynamicPropertyRegistry registry) throws IOException {
+        campeonato = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        campeonato.createContext("/partida/", troca -> {
+            portasClientes.add(troca.getRemoteAddress().getPort());
+            String caminho = troca.getRequestURI().getPath();
+            requisicoes.computeIfAbsent(caminho, c -> new AtomicInteger()).incrementAndGet();
+            // ids pares ja foram realizados, impares ainda estao agendados
+            int idPartida = Integer.parseInt(caminho.substring(caminho.lastIndexOf('/') + 1));
+            // ids 300-399 e 950+ respondem devagar para que as consultas concorrentes se encontrem
+            if ((idPartida >= 300 && idPartida < 400) || idPartida >= 950) {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (idPartida >= 900) {
+                troca.sendResponseHeaders(404, -1);
+                troca.close();
+                return;
+            }
+            String status = idPartida % 2 == 0 ? "REALIZADA" : "AGENDADA";
+            // ids 700-799 devolvem o placar atual de placarCorrigido
+            int placarMandante = idPartida >= 700 && idPartida < 800 ? placarCorrigido.get() : 1;
+            byte[] corpo = ("{\"nomeMandante\":\"a\",\"nomeVisitante\":\"b\",\"placarMandante\":" + placarMandante + ","
+                    + "\"placarVisitante\":0,\"status\":\"" + status + "\"}").getBytes(StandardCharsets.UTF_8);
+            troca.getResponseHeaders().add("Content-Type", "application/json");
+            troca.sendResponseHeaders(200, corpo.length);
+            troca.getResponseBody().write(corpo);
+            troca.close();
+        });
+        campeonato.start();
+
+        registry.add("campeonato.url", () -> "http://localhost:" + campeonato.getAddress().getPort());
+        registry.add("campeonato.http.max-conexoes", () -> 5);
+        registry.add("campeonato.http.timeout-conexao-ms", () -> 1000);
+        registry.add("campeonato.http.timeout-leitura-ms", () -> 1000);
+        registry.add("campeonato.http.timeout-pool-ms", () -> 1000);
+        registry.add("campeonato.http.keep-alive-ms", () -> 30000);
+        registry.add("campeonato.cache.tamanho-maximo", () -> 100);
+        registry.add("campeonato.cache.ttl-agendada-ms", () -> 200);
+        registry.add("campeonato.cache.ttl-realizada-ms", () -> 1000);
+    }
+
+    @AfterAll
+    static void encerrar() {
+        campeonato.stop(0);
+    }
+
+    @Test
+    public void testGetPartidaReaproveitaConexao() {
+        // Execução
+        for (int i = 2; i <= 20; i += 2) {
+            ResponseEntity<RetornarPartidaDTO> resposta = partidaService.getPartida(i);
+            Assertions.assertTrue(resposta.getStatusCode().is2xxSuccessful());
+            Assertions.assertEquals("REALIZADA", resposta.getBody().getStatus());
+        }
+
+        // Verificação
+        EstatisticasConexoesDTO estatisticas = partidaService.getEstatisticasConexoes();
+        Assertions.assertEquals(1, portasClientes.size());
+        Assertions.assertTrue(estatisticas.getEmprestimos() >= 10);
+        Assertions.assertEquals(0, estatisticas.getTimeouts());
+        Assertions.assertEquals(0, estatisticas.getEmUso());
+        Assertions.assertEquals(1, estatisticas.getDisponiveis());
+        Assertions.assertEquals(5, estatisticas.getMaximo());
+    }
+
+    @Test
+    public void testGetPartidaRealizadaUsaCache() {
+        // Execução
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals("REALIZADA", partidaService.getPartida(100).getBody().getStatus());
+        }
+
+        // Verificação
+        Assertions.assertEquals(1, requisicoes.get("/partida/100").get());
+        Assertions.assertTrue(partidaService.getEstatisticasCache().getAcertos() >= 4);
+    }
+
+    @Test
+    public void testGetPartidaAgendadaExpiraDoCache() throws InterruptedException {
+        // Execução
+        partidaService.getPartida(101);
+        partidaService.getPartida(101);
+        Thread.sleep(300);
+        partidaService.getPartida(101);
+
+        // Verificação
+        Assertions.assertEquals(2, requisicoes.get("/partida/101").get());
+    }
+
+    @Test
+    public void testGetPartidaRealizadaVeResultadoCorrigidoAposExpirar() throws InterruptedException {
+        // Preparação
+        Assertions.assertEquals(1, partidaService.getPartida(700).getBody().getPlacarMandante());
+
+        // Execução: o campeonato corrige o placar de uma partida ja realizada
+        placarCorrigido.set(3);
+        Integer antesDeExpirar = partidaService.getPartida(700).getBody().getPlacarMandante();
+        Thread.sleep(1200);
+        Integer depoisDeExpirar = partidaService.getPartida(700).getBody().getPlacarMandante();
+
+        // Verificação
+        Assertions.assertEquals(1, antesDeExpirar);
+        Assertions.assertEquals(3, depoisDeExpirar);
+        Assertions.assertEquals(2, requisicoes.get("/partida/700").get());
+    }
+
+    @Test
+    public void testGetPartidasConsultaCadaPartidaUmaVez() {
+        // Execução
+        Map<Integer, RetornarPartidaDTO> partidas = partidaService.getPartidas(List.of(200, 201, 200, 900, 201));
+
+        // Verificação
+        Assertions.assertEquals(2, partidas.size());
+        Assertions.assertEquals("REALIZADA", partidas.get(200).getStatus());
+        Assertions.assertEquals("AGENDADA", partidas.get(201).getStatus());
+        Assertions.assertFalse(partidas.containsKey(900));
+        Assertions.assertEquals(1, requisicoes.get("/partida/200").get());
+        Assertions.assertEquals(1, requisicoes.get("/partida/201").get());
+        Assertions.assertEquals(1, requisicoes.get("/partida/900").get());
+    }
+
+    @Test
+    public void testGetPartidaConcorrenteCompartilhaChamada() throws Exception {
+        // Preparação
+        long coalescidasAntes = partidaService.getEstatisticasChamadas().getCoalescidas();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        partidaService.bindTo(registry);
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<ResponseEntity<RetornarPartidaDTO>>> respostas = new ArrayList<>();
+
+        // Execução
+        for (int i = 0; i < 20; i++) {
+            respostas.add(executor.submit(() -> {
+                largada.await();
+                return partidaService.getPartida(300);
+            }));
+        }
+        largada.countDown();
+
+        // Verificação
+        for (Future<ResponseEntity<RetornarPartidaDTO>> resposta : respostas) {
+            Assertions.assertEquals("REALIZADA", resposta.get(5, TimeUnit.SECONDS).getBody().getStatus());
+        }
+        executor.shutdown();
+        Assertions.assertEquals(1, requisicoes.get("/partida/300").get());
+        Assertions.assertEquals(19, partidaService.getEstatisticasChamadas().getCoalescidas() - coalescidasAntes);
+        Assertions.assertEquals(0, partidaService.getEstatisticasChamadas().getEmAndamento());
+        Assertions.assertEquals(coalescidasAntes + 19, registry.get("campeonato.chamadas.coalescidas").functionCounter().count());
+        Assertions.assertEquals(0, registry.get("campeonato.chamadas.em.andamento").gauge().value());
+    }
+
+    @Test
+    public void testGetPartidaConcorrenteCompartilhaFalha() throws Exception {
+        // Preparação
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<ResponseEntity<RetornarPartidaDTO>>> respostas = new ArrayList<>();
+
+        // Execução
+        for (int i = 0; i < 10; i++) {
+            respostas.add(executor.submit(() -> {
+                largada.await();
+                return partidaService.getPartida(950);
+            }));
+        }
+        largada.countDown();
+
+        // Verificação
+        for (Future<ResponseEntity<RetornarPartidaDTO>> resposta : respostas) {
+            ExecutionException erro = Assertions.assertThrows(ExecutionException.class,
+                    () -> resposta.get(5, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(PartidaNaoEncontradaException.class, erro.getCause());
+        }
+        executor.shutdown();
+        Assertions.assertEquals(1, requisicoes.get("/partida/950").get());
+    }
+
+    @Test
+    public void testGetPartidaGeraEventoJfrPorChamadaRemota() throws IOException {
+        // Preparação
+        Path arquivo = Files.createTempFile("consulta-campeonato", ".jfr");
+        List<RecordedEvent> eventos;
+
+        // Execução
+        try (Recording gravacao = new Recording()) {
+            gravacao.enable("br.insper.aposta.ConsultaCampeonato");
+            gravacao.start();
+            partidaService.getPartida(500);
+            partidaService.getPartida(500);
+            Assertions.assertThrows(PartidaNaoEncontradaException.class, () -> partidaService.getPartida(904));
+            gravacao.stop();
+            gravacao.dump(arquivo);
+            eventos = RecordingFile.readAllEvents(arquivo);
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+
+        // Verificação: a segunda consulta a 500 veio do cache e nao gera evento
+        Assertions.assertEquals(2, eventos.size());
+        RecordedEvent sucesso = eventos.stream().filter(e -> e.getInt("idPartida") == 500).findFirst().orElseThrow();
+        Assertions.assertEquals(200, sucesso.getInt("status"));
+        Assertions.assertTrue(sucesso.getLong("bytes") > 0);
+        Assertions.assertNull(sucesso.getString("erro"));
+        RecordedEvent inexistente = eventos.stream().filter(e -> e.getInt("idPartida") == 904).findFirst().orElseThrow();
+        Assertions.assertEquals(404, inexistente.getInt("status"));
+        Assertions.assertEquals("NotFound", inexistente.getString("erro"));
+    }
+
+}
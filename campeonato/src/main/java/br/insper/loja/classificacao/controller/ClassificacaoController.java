@@ -0,0 +1,29 @@
+package br.insper.loja.classificacao.controller;
+
+import br.insper.loja.classificacao.dto.VerificacaoClassificacaoDTO;
+import br.insper.loja.classificacao.model.Classificacao;
+import br.insper.loja.classificacao.service.ClassificacaoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class ClassificacaoController {
+
+    @Autowired
+    private ClassificacaoService classificacaoService;
+
+    @GetMapping("/classificacao")
+    public List<Classificacao> getClassificacao() {
+        return classificacaoService.listarClassificacao();
+    }
+
+    @PostMapping("/classificacao/recalcular")
+    public VerificacaoClassificacaoDTO recalcular() {
+        return classificacaoService.recalcular();
+    }
+
+}
@@ -0,0 +1,31 @@
+package br.insper.loja.classificacao.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class VerificacaoClassificacaoDTO {
+    private int times;
+
+    // times cuja linha armazenada nao batia com o recalculo (e foi corrigida)
+    private List<Integer> timesDivergentes = new ArrayList<>();
+
+    public boolean isConsistente() {
+        return timesDivergentes.isEmpty();
+    }
+
+    public int getTimes() {
+        return times;
+    }
+
+    public void setTimes(int times) {
+        this.times = times;
+    }
+
+    public List<Integer> getTimesDivergentes() {
+        return timesDivergentes;
+    }
+
+    public void setTimesDivergentes(List<Integer> timesDivergentes) {
+        this.timesDivergentes = timesDivergentes;
+    }
+}
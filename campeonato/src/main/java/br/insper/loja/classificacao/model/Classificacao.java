@@ -0,0 +1,73 @@
+package br.insper.loja.classificacao.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+public class Classificacao {
+
+    @Id
+    private Integer idTime;
+
+    private String nomeTime;
+
+    private int pontos;
+    private int jogos;
+    private int vitorias;
+    private int empates;
+    private int derrotas;
+    private int golsPro;
+    private int golsContra;
+    private int saldoGols;
+
+    public Classificacao() {
+    }
+
+    public Classificacao(Integer idTime, String nomeTime) {
+        this.idTime = idTime;
+        this.nomeTime = nomeTime;
+    }
+
+    // sinal = 1 soma o resultado, sinal = -1 desfaz um resultado ja somado
+    public void registrar(int golsFeitos, int golsSofridos, int sinal) {
+        jogos += sinal;
+        golsPro += sinal * golsFeitos;
+        golsContra += sinal * golsSofridos;
+        saldoGols = golsPro - golsContra;
+
+        if (golsFeitos > golsSofridos) {
+            vitorias += sinal;
+            pontos += 3 * sinal;
+        } else if (golsFeitos == golsSofridos) {
+            empates += sinal;
+            pontos += sinal;
+        } else {
+            derrotas += sinal;
+        }
+    }
+
+    public boolean mesmosNumeros(Classificacao outra) {
+        return pontos == outra.pontos
+                && jogos == outra.jogos
+                && vitorias == outra.vitorias
+                && empates == outra.empates
+                && derrotas == outra.derrotas
+                && golsPro == outra.golsPro
+                && golsContra == outra.golsContra;
+    }
+
+    public void copiarNumeros(Classificacao outra) {
+        pontos = outra.pontos;
+        jogos = outra.jogos;
+        vitorias = outra.vitorias;
+        empates = outra.empates;
+        derrotas = outra.derrotas;
+        golsPro = outra.golsPro;
+        golsContra = outra.golsContra;
+        saldoGols = outra.saldoGols;
+    }
+}
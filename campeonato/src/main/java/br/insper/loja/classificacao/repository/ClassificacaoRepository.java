@@ -0,0 +1,24 @@
+package br.insper.loja.classificacao.repository;
+
+import br.insper.loja.classificacao.model.Classificacao;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ClassificacaoRepository extends JpaRepository<Classificacao, Integer> {
+
+    @Query("select c from Classificacao c order by c.pontos desc, c.vitorias desc, c.saldoGols desc, c.golsPro desc")
+    List<Classificacao> listarOrdenado();
+
+    // trava a linha do time para que resultados concorrentes nao percam atualizacoes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Classificacao c where c.idTime = :idTime")
+    Optional<Classificacao> buscarParaAtualizar(Integer idTime);
+
+}
@@ -0,0 +1,154 @@
+package br.insper.loja.classificacao.service;
+
+import br.insper.loja.classificacao.dto.VerificacaoClassificacaoDTO;
+import br.insper.loja.classificacao.model.Classificacao;
+import br.insper.loja.classificacao.repository.ClassificacaoRepository;
+import br.insper.loja.partida.model.Partida;
+import br.insper.loja.partida.repository.PartidaRepository;
+import br.insper.loja.time.model.Time;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+@Service
+@Observed(name = "servico.chamadas")
+public class ClassificacaoService {
+
+    @Autowired
+    private ClassificacaoRepository classificacaoRepository;
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public List<Classificacao> listarClassificacao() {
+        return classificacaoRepository.listarOrdenado();
+    }
+
+    // Chamados por PartidaService dentro da transacao que grava o resultado.
+    public void adicionarResultado(Partida partida) {
+        aplicar(partida, 1);
+    }
+
+    public void removerResultado(Partida partida) {
+        aplicar(partida, -1);
+    }
+
+    private void aplicar(Partida partida, int sinal) {
+        int golsMandante = gols(partida.getPlacarMandante());
+        int golsVisitante = gols(partida.getPlacarVisitante());
+
+        Map<Integer, Classificacao> linhas = travarLinhas(List.of(partida.getMandante(), partida.getVisitante()));
+        linhas.get(partida.getMandante().getId()).registrar(golsMandante, golsVisitante, sinal);
+        linhas.get(partida.getVisitante().getId()).registrar(golsVisitante, golsMandante, sinal);
+    }
+
+    // Trava as linhas sempre em ordem crescente de id do time: A x B e B x A concorrentes (ou rodadas com
+    // os mesmos times) esperam uma pela outra em vez de travar em ordens opostas e cair em deadlock.
+    // Numa transacao que ja travou a linha, a nova consulta nao espera.
+    public Map<Integer, Classificacao> travarLinhas(Collection<Time> times) {
+        Map<Integer, Time> porId = new TreeMap<>();
+        for (Time time : times) {
+            porId.put(time.getId(), time);
+        }
+        Map<Integer, Classificacao> linhas = new HashMap<>();
+        for (Time time : porId.values()) {
+            linhas.put(time.getId(), buscarOuCriar(time));
+        }
+        return linhas;
+    }
+
+    private Classificacao buscarOuCriar(Time time) {
+        Optional<Classificacao> linha = classificacaoRepository.buscarParaAtualizar(time.getId());
+        if (linha.isPresent()) {
+            return linha.get();
+        }
+        criarLinha(time);
+        return classificacaoRepository.buscarParaAtualizar(time.getId())
+                .orElseThrow(() -> new IllegalStateException("Classificacao do time " + time.getId() + " nao criada"));
+    }
+
+    // Primeira linha do time com insert puro na conexao da transacao de quem chamou, sem abrir outra
+    // conexao do pool (o save faria merge e zeraria a linha que um resultado concorrente acabou de criar).
+    // Pelo JdbcTemplate a chave duplicada nao marca a transacao para rollback: quer dizer que o outro
+    // resultado criou antes, e a linha e lida de novo, travada, esperando o commit dele.
+    private void criarLinha(Time time) {
+        try {
+            jdbcTemplate.update("insert into classificacao (id_time, nome_time, pontos, jogos, vitorias, empates,"
+                    + " derrotas, gols_pro, gols_contra, saldo_gols) values (?, ?, 0, 0, 0, 0, 0, 0, 0, 0)",
+                    time.getId(), time.getNome());
+        } catch (DuplicateKeyException e) {
+            // linha criada por outra transacao
+        }
+    }
+
+    private static int gols(Integer placar) {
+        return placar == null ? 0 : placar;
+    }
+
+    // Recalcula a tabela a partir de todas as partidas realizadas, compara com o que esta
+    // armazenado e corrige as linhas divergentes.
+    @Transactional
+    public VerificacaoClassificacaoDTO recalcular() {
+        Map<Integer, Classificacao> esperado = new HashMap<>();
+        try (Stream<Partida> partidas = partidaRepository.streamRealizadas()) {
+            partidas.forEach(partida -> {
+                int golsMandante = gols(partida.getPlacarMandante());
+                int golsVisitante = gols(partida.getPlacarVisitante());
+                novaLinha(esperado, partida.getMandante()).registrar(golsMandante, golsVisitante, 1);
+                novaLinha(esperado, partida.getVisitante()).registrar(golsVisitante, golsMandante, 1);
+            });
+        }
+
+        Map<Integer, Classificacao> atual = new HashMap<>();
+        for (Classificacao classificacao : classificacaoRepository.findAll()) {
+            atual.put(classificacao.getIdTime(), classificacao);
+        }
+
+        Set<Integer> ids = new HashSet<>(esperado.keySet());
+        ids.addAll(atual.keySet());
+
+        VerificacaoClassificacaoDTO verificacao = new VerificacaoClassificacaoDTO();
+        verificacao.setTimes(esperado.size());
+        List<Integer> divergentes = new ArrayList<>();
+        for (Integer id : ids) {
+            Classificacao calculada = esperado.get(id);
+            Classificacao armazenada = atual.get(id);
+
+            if (calculada == null) {
+                divergentes.add(id);
+                classificacaoRepository.delete(armazenada);
+            } else if (armazenada == null) {
+                divergentes.add(id);
+                classificacaoRepository.save(calculada);
+            } else if (!armazenada.mesmosNumeros(calculada)) {
+                divergentes.add(id);
+                armazenada.copiarNumeros(calculada);
+            }
+        }
+        divergentes.sort(null);
+        verificacao.setTimesDivergentes(divergentes);
+        return verificacao;
+    }
+
+    private static Classificacao novaLinha(Map<Integer, Classificacao> linhas, Time time) {
+        return linhas.computeIfAbsent(time.getId(), id -> new Classificacao(id, time.getNome()));
+    }
+
+}
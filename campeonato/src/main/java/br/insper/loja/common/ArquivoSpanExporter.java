@@ -0,0 +1,86 @@
+package br.insper.loja.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// grava um span por linha (json) em um arquivo local, um arquivo por servico; o traceId junta as linhas
+// do aposta e do campeonato. chamado em lote pelo BatchSpanProcessor, fora da requisicao
+public class ArquivoSpanExporter implements SpanExporter {
+
+    private static final AttributeKey<String> SERVICO = AttributeKey.stringKey("service.name");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Writer escritor;
+
+    public ArquivoSpanExporter(Path arquivo) throws IOException {
+        Path diretorio = arquivo.toAbsolutePath().getParent();
+        if (diretorio != null) {
+            Files.createDirectories(diretorio);
+        }
+        this.escritor = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            for (SpanData span : spans) {
+                escritor.write(objectMapper.writeValueAsString(linha(span)));
+                escritor.write('\n');
+            }
+            escritor.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    private Map<String, Object> linha(SpanData span) {
+        Map<String, Object> linha = new LinkedHashMap<>();
+        linha.put("traceId", span.getTraceId());
+        linha.put("spanId", span.getSpanId());
+        linha.put("parentId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null);
+        linha.put("servico", span.getResource().getAttribute(SERVICO));
+        linha.put("nome", span.getName());
+        linha.put("tipo", span.getKind().name());
+        linha.put("inicio", Instant.ofEpochSecond(0, span.getStartEpochNanos()).toString());
+        linha.put("duracaoMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1000);
+        linha.put("erro", span.getStatus().getStatusCode() == StatusCode.ERROR);
+        Map<String, Object> atributos = new TreeMap<>();
+        span.getAttributes().forEach((chave, valor) -> atributos.put(chave.getKey(), valor));
+        linha.put("atributos", atributos);
+        return linha;
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        try {
+            escritor.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+}
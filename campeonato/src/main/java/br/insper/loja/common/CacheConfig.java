@@ -0,0 +1,33 @@
+package br.insper.loja.common;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // com sync = true o Caffeine carrega o valor dentro do lock (synchronized) do ConcurrentHashMap,
+    // prendendo a thread virtual ao carrier durante o select. no modo assincrono a carga roda fora
+    // do lock, em uma thread virtual propria, e quem pediu so espera o CompletableFuture.
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public CacheManagerCustomizer<CaffeineCacheManager> cacheAssincronoThreadsVirtuais(CacheProperties cacheProperties) {
+        return cacheManager -> {
+            String spec = cacheProperties.getCaffeine().getSpec();
+            Caffeine<Object, Object> caffeine = spec == null ? Caffeine.newBuilder() : Caffeine.from(spec);
+            cacheManager.setCaffeine(caffeine.executor(Executors.newVirtualThreadPerTaskExecutor()));
+            cacheManager.setAsyncCacheMode(true);
+        };
+    }
+
+}
@@ -0,0 +1,35 @@
+package br.insper.loja.common;
+
+import br.insper.loja.leitura.dto.RelatorioConsistenciaDTO;
+import br.insper.loja.leitura.service.ConsistenciaLeituraService;
+import br.insper.loja.leitura.service.ModeloLeituraService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+// GET /actuator/consistencia compara o modelo de leitura com o banco.
+// POST recarrega o modelo a partir do banco e devolve a comparacao feita em seguida.
+// a recarga segura a escrita do modelo inteiro: so pela porta de gerencia (management.server.*), nunca pela da api
+@Component
+@Endpoint(id = "consistencia")
+public class ConsistenciaEndpoint {
+
+    @Autowired
+    private ConsistenciaLeituraService consistenciaLeituraService;
+
+    @Autowired
+    private ModeloLeituraService modeloLeituraService;
+
+    @ReadOperation
+    public RelatorioConsistenciaDTO verificar() {
+        return consistenciaLeituraService.verificar();
+    }
+
+    @WriteOperation
+    public RelatorioConsistenciaDTO recarregar() {
+        modeloLeituraService.carregar();
+        return consistenciaLeituraService.verificar();
+    }
+}
@@ -0,0 +1,65 @@
+package br.insper.loja.common;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// GET /actuator/consultas?top=N: consultas com maior tempo total segundo as estatisticas do hibernate.
+// So existe no perfil diagnostico, que liga hibernate.generate_statistics.
+@Component
+@Profile("diagnostico")
+@Endpoint(id = "consultas")
+public class ConsultasEndpoint {
+
+    static final int TOP_PADRAO = 10;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ReadOperation
+    public DiagnosticoConsultasDTO ranking(@Nullable Integer top) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // consultas declaradas nos repositorios aparecem mesmo sem execucao; ficam de fora
+        List<EstatisticaConsultaDTO> ranking = Arrays.stream(statistics.getQueries())
+                .map(consulta -> estatistica(consulta, statistics.getQueryStatistics(consulta)))
+                .filter(estatistica -> estatistica.getExecucoes() > 0)
+                .sorted(Comparator.comparingLong(EstatisticaConsultaDTO::getTempoTotalMs)
+                        .thenComparingLong(EstatisticaConsultaDTO::getExecucoes)
+                        .reversed())
+                .limit(top == null ? TOP_PADRAO : Math.max(top, 1))
+                .toList();
+
+        DiagnosticoConsultasDTO diagnostico = new DiagnosticoConsultasDTO();
+        diagnostico.setConsultas(statistics.getQueryExecutionCount());
+        diagnostico.setStatements(statistics.getPrepareStatementCount());
+        diagnostico.setEntidadesCarregadas(statistics.getEntityLoadCount());
+        diagnostico.setColecoesCarregadas(statistics.getCollectionLoadCount());
+        diagnostico.setMaximoMs(statistics.getQueryExecutionMaxTime());
+        diagnostico.setConsultaMaisLenta(statistics.getQueryExecutionMaxTimeQueryString());
+        diagnostico.setRanking(ranking);
+        return diagnostico;
+    }
+
+    private EstatisticaConsultaDTO estatistica(String consulta, QueryStatistics estatisticas) {
+        EstatisticaConsultaDTO estatistica = new EstatisticaConsultaDTO();
+        estatistica.setConsulta(consulta);
+        estatistica.setExecucoes(estatisticas.getExecutionCount());
+        estatistica.setMediaMs(estatisticas.getExecutionAvgTimeAsDouble());
+        estatistica.setMaximoMs(estatisticas.getExecutionMaxTime());
+        estatistica.setTempoTotalMs(estatisticas.getExecutionTotalTime());
+        estatistica.setLinhas(estatisticas.getExecutionRowCount());
+        return estatistica;
+    }
+}
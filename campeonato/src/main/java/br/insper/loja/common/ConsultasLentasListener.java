@@ -0,0 +1,47 @@
+package br.insper.loja.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.logging.DefaultQueryLogEntryCreator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Loga com os parametros todo sql acima de diagnostico.consulta-lenta-ms.
+// O datasource-micrometer ja envolve o DataSource com o datasource-proxy e registra este listener;
+// o slow-query dele so aceita limite em segundos e loga enquanto a consulta ainda roda.
+@Component
+@Profile("diagnostico")
+public class ConsultasLentasListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsultasLentasListener.class);
+
+    private final DefaultQueryLogEntryCreator formatador = new DefaultQueryLogEntryCreator();
+
+    @Value("${diagnostico.consulta-lenta-ms}")
+    private long limiteMs;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < limiteMs) {
+            return;
+        }
+        meterRegistry.counter("jdbc.consultas.lentas").increment();
+        // Time, Query e Params de cada statement (ou de cada item do batch)
+        log.warn("Consulta lenta: {}", formatador.getLogEntry(execInfo, queryInfoList, false, false, false));
+    }
+}
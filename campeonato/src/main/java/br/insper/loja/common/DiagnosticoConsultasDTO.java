@@ -0,0 +1,72 @@
+package br.insper.loja.common;
+
+import java.util.List;
+
+public class DiagnosticoConsultasDTO {
+
+    // totais do hibernate desde a subida da aplicacao
+    private long consultas;
+    private long statements;
+    private long entidadesCarregadas;
+    private long colecoesCarregadas;
+    private long maximoMs;
+    private String consultaMaisLenta;
+    // maiores tempos totais (execucoes x media)
+    private List<EstatisticaConsultaDTO> ranking;
+
+    public long getConsultas() {
+        return consultas;
+    }
+
+    public void setConsultas(long consultas) {
+        this.consultas = consultas;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public void setStatements(long statements) {
+        this.statements = statements;
+    }
+
+    public long getEntidadesCarregadas() {
+        return entidadesCarregadas;
+    }
+
+    public void setEntidadesCarregadas(long entidadesCarregadas) {
+        this.entidadesCarregadas = entidadesCarregadas;
+    }
+
+    public long getColecoesCarregadas() {
+        return colecoesCarregadas;
+    }
+
+    public void setColecoesCarregadas(long colecoesCarregadas) {
+        this.colecoesCarregadas = colecoesCarregadas;
+    }
+
+    public long getMaximoMs() {
+        return maximoMs;
+    }
+
+    public void setMaximoMs(long maximoMs) {
+        this.maximoMs = maximoMs;
+    }
+
+    public String getConsultaMaisLenta() {
+        return consultaMaisLenta;
+    }
+
+    public void setConsultaMaisLenta(String consultaMaisLenta) {
+        this.consultaMaisLenta = consultaMaisLenta;
+    }
+
+    public List<EstatisticaConsultaDTO> getRanking() {
+        return ranking;
+    }
+
+    public void setRanking(List<EstatisticaConsultaDTO> ranking) {
+        this.ranking = ranking;
+    }
+}
@@ -0,0 +1,45 @@
+package br.insper.loja.common;
+
+import java.time.Instant;
+
+public class EstadoGravacaoDTO {
+
+    private boolean ativa;
+    private Instant inicio;
+    // bytes ja gravados no repositorio do jfr
+    private long tamanho;
+    // preenchido ao parar: onde ficou o .jfr
+    private String arquivo;
+
+    public boolean isAtiva() {
+        return ativa;
+    }
+
+    public void setAtiva(boolean ativa) {
+        this.ativa = ativa;
+    }
+
+    public Instant getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(Instant inicio) {
+        this.inicio = inicio;
+    }
+
+    public long getTamanho() {
+        return tamanho;
+    }
+
+    public void setTamanho(long tamanho) {
+        this.tamanho = tamanho;
+    }
+
+    public String getArquivo() {
+        return arquivo;
+    }
+
+    public void setArquivo(String arquivo) {
+        this.arquivo = arquivo;
+    }
+}
@@ -0,0 +1,60 @@
+package br.insper.loja.common;
+
+public class EstatisticaConsultaDTO {
+
+    // jpql, ou o sql precedido de [CRITERIA] para consultas montadas por criteria (findAll, derivadas)
+    private String consulta;
+    private long execucoes;
+    private double mediaMs;
+    private long maximoMs;
+    private long tempoTotalMs;
+    private long linhas;
+
+    public String getConsulta() {
+        return consulta;
+    }
+
+    public void setConsulta(String consulta) {
+        this.consulta = consulta;
+    }
+
+    public long getExecucoes() {
+        return execucoes;
+    }
+
+    public void setExecucoes(long execucoes) {
+        this.execucoes = execucoes;
+    }
+
+    public double getMediaMs() {
+        return mediaMs;
+    }
+
+    public void setMediaMs(double mediaMs) {
+        this.mediaMs = mediaMs;
+    }
+
+    public long getMaximoMs() {
+        return maximoMs;
+    }
+
+    public void setMaximoMs(long maximoMs) {
+        this.maximoMs = maximoMs;
+    }
+
+    public long getTempoTotalMs() {
+        return tempoTotalMs;
+    }
+
+    public void setTempoTotalMs(long tempoTotalMs) {
+        this.tempoTotalMs = tempoTotalMs;
+    }
+
+    public long getLinhas() {
+        return linhas;
+    }
+
+    public void setLinhas(long linhas) {
+        this.linhas = linhas;
+    }
+}
@@ -0,0 +1,18 @@
+package br.insper.loja.common;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricasConfig {
+
+    // cada metodo publico dos services anotados com @Observed vira um timer (servico.chamadas, tags class
+    // e method) e um span filho da requisicao; http, repositorios, cache e pool jdbc o actuator ja mede sozinho
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+}
@@ -0,0 +1,25 @@
+package br.insper.loja.common;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// o contexto do trace chega pelo header traceparent que o aposta envia; os spans jdbc (conexao, query,
+// result set) vem do datasource-micrometer. aqui fica so o exportador local, ligado pelo perfil tracing
+@Configuration
+@Profile("tracing")
+public class TracingConfig {
+
+    @Value("${tracing.arquivo}")
+    private String arquivo;
+
+    @Bean
+    public ArquivoSpanExporter arquivoSpanExporter() throws IOException {
+        return new ArquivoSpanExporter(Path.of(arquivo));
+    }
+
+}
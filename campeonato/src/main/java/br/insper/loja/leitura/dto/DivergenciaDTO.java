@@ -0,0 +1,61 @@
+package br.insper.loja.leitura.dto;
+
+public class DivergenciaDTO {
+    // AUSENTE_NA_MEMORIA, AUSENTE_NO_BANCO, DIFERENTE ou INDICE
+    private String tipo;
+    private String entidade;
+    private Integer id;
+    private String banco;
+    private String memoria;
+
+    public DivergenciaDTO() {
+    }
+
+    public DivergenciaDTO(String tipo, String entidade, Integer id, String banco, String memoria) {
+        this.tipo = tipo;
+        this.entidade = entidade;
+        this.id = id;
+        this.banco = banco;
+        this.memoria = memoria;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public String getEntidade() {
+        return entidade;
+    }
+
+    public void setEntidade(String entidade) {
+        this.entidade = entidade;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getBanco() {
+        return banco;
+    }
+
+    public void setBanco(String banco) {
+        this.banco = banco;
+    }
+
+    public String getMemoria() {
+        return memoria;
+    }
+
+    public void setMemoria(String memoria) {
+        this.memoria = memoria;
+    }
+}
@@ -0,0 +1,63 @@
+package br.insper.loja.leitura.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RelatorioConsistenciaDTO {
+    private boolean consistente;
+    private long times;
+    private long partidas;
+    private long totalDivergencias;
+    private long duracaoMs;
+
+    // no maximo ConsistenciaLeituraService.MAX_DIVERGENCIAS; o total fica em totalDivergencias
+    private List<DivergenciaDTO> divergencias = new ArrayList<>();
+
+    public boolean isConsistente() {
+        return consistente;
+    }
+
+    public void setConsistente(boolean consistente) {
+        this.consistente = consistente;
+    }
+
+    public long getTimes() {
+        return times;
+    }
+
+    public void setTimes(long times) {
+        this.times = times;
+    }
+
+    public long getPartidas() {
+        return partidas;
+    }
+
+    public void setPartidas(long partidas) {
+        this.partidas = partidas;
+    }
+
+    public long getTotalDivergencias() {
+        return totalDivergencias;
+    }
+
+    public void setTotalDivergencias(long totalDivergencias) {
+        this.totalDivergencias = totalDivergencias;
+    }
+
+    public long getDuracaoMs() {
+        return duracaoMs;
+    }
+
+    public void setDuracaoMs(long duracaoMs) {
+        this.duracaoMs = duracaoMs;
+    }
+
+    public List<DivergenciaDTO> getDivergencias() {
+        return divergencias;
+    }
+
+    public void setDivergencias(List<DivergenciaDTO> divergencias) {
+        this.divergencias = divergencias;
+    }
+}
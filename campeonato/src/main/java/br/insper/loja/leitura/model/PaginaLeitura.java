@@ -0,0 +1,10 @@
+package br.insper.loja.leitura.model;
+
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+
+import java.util.List;
+
+// pagina do modelo de leitura; candidatosLidos conta os ids percorridos no indice, inclusive os descartados
+// pelos outros filtros, para comparar com o tamanho da pagina
+public record PaginaLeitura(List<RetornarPartidaDTO> partidas, int candidatosLidos) {
+}
@@ -0,0 +1,13 @@
+package br.insper.loja.leitura.model;
+
+import br.insper.loja.partida.model.Partida;
+
+// linha de partida no modelo de leitura; os nomes dos times vem das linhas de time na hora de responder
+public record PartidaLeitura(Integer id, Integer idMandante, Integer idVisitante,
+                             Integer placarMandante, Integer placarVisitante, String status, long versao) {
+
+    public static PartidaLeitura de(Partida partida) {
+        return new PartidaLeitura(partida.getId(), partida.getMandante().getId(), partida.getVisitante().getId(),
+                partida.getPlacarMandante(), partida.getPlacarVisitante(), partida.getStatus(), partida.getVersao());
+    }
+}
@@ -0,0 +1,20 @@
+package br.insper.loja.leitura.model;
+
+import br.insper.loja.time.model.Time;
+
+// linha de time no modelo de leitura; imutavel, trocada inteira a cada alteracao
+public record TimeLeitura(Integer id, String nome, String identificador, String estadio, String estado, long versao) {
+
+    public static TimeLeitura de(Time time) {
+        return new TimeLeitura(time.getId(), time.getNome(), time.getIdentificador(),
+                time.getEstadio(), time.getEstado(), time.getVersao());
+    }
+
+    // Time e mutavel e vai para o jackson: cada resposta recebe uma copia
+    public Time paraTime() {
+        Time time = new Time(nome, identificador, estadio, estado);
+        time.setId(id);
+        time.setVersao(versao);
+        return time;
+    }
+}
@@ -0,0 +1,55 @@
+package br.insper.loja.leitura.repository;
+
+import br.insper.loja.leitura.model.PartidaLeitura;
+import br.insper.loja.leitura.model.TimeLeitura;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Projecoes usadas para montar e conferir o modelo de leitura: um select por tabela, sem entidades gerenciadas.
+// p.mandante.id e p.visitante.id saem da propria coluna de chave estrangeira, sem join.
+@Repository
+public class LeituraRepository {
+
+    private static final String TIMES = "select new br.insper.loja.leitura.model.TimeLeitura("
+            + "t.id, t.nome, t.identificador, t.estadio, t.estado, t.versao) from Time t";
+
+    private static final String PARTIDAS = "select new br.insper.loja.leitura.model.PartidaLeitura("
+            + "p.id, p.mandante.id, p.visitante.id, p.placarMandante, p.placarVisitante, p.status, p.versao) "
+            + "from Partida p";
+
+    private static final int TAMANHO_LOTE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Os streams devem ser consumidos dentro de uma transacao; o driver traz as linhas em lotes do fetch size.
+    public Stream<TimeLeitura> streamTimes() {
+        return entityManager.createQuery(TIMES, TimeLeitura.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, TAMANHO_LOTE)
+                .getResultStream();
+    }
+
+    public Stream<PartidaLeitura> streamPartidas() {
+        return entityManager.createQuery(PARTIDAS, PartidaLeitura.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, TAMANHO_LOTE)
+                .getResultStream();
+    }
+
+    public List<TimeLeitura> buscarTimes(Collection<Integer> ids) {
+        return entityManager.createQuery(TIMES + " where t.id in :ids", TimeLeitura.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    public List<PartidaLeitura> buscarPartidas(Collection<Integer> ids) {
+        return entityManager.createQuery(PARTIDAS + " where p.id in :ids", PartidaLeitura.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+}
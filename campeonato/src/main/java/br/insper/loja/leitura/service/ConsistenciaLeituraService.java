@@ -0,0 +1,133 @@
+package br.insper.loja.leitura.service;
+
+import br.insper.loja.leitura.dto.DivergenciaDTO;
+import br.insper.loja.leitura.dto.RelatorioConsistenciaDTO;
+import br.insper.loja.leitura.model.PartidaLeitura;
+import br.insper.loja.leitura.model.TimeLeitura;
+import br.insper.loja.leitura.repository.LeituraRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Compara o modelo de leitura com o banco: linha a linha (faltando de um lado ou com campos diferentes)
+// e os indices da memoria contra as proprias linhas.
+@Service
+public class ConsistenciaLeituraService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsistenciaLeituraService.class);
+
+    static final int MAX_DIVERGENCIAS = 100;
+
+    private static final int TAMANHO_LOTE = 500;
+
+    @Autowired
+    private LeituraRepository leituraRepository;
+
+    @Autowired
+    private ModeloLeituraService modeloLeituraService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public RelatorioConsistenciaDTO verificar() {
+        long inicio = System.nanoTime();
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(true);
+
+        Set<Integer> timesDivergentes = new TreeSet<>();
+        Set<Integer> partidasDivergentes = new TreeSet<>();
+        RelatorioConsistenciaDTO relatorio = new RelatorioConsistenciaDTO();
+        transacao.executeWithoutResult(status -> {
+            relatorio.setTimes(comparar(leituraRepository.streamTimes(), modeloLeituraService.getTimes(),
+                    TimeLeitura::id, timesDivergentes));
+            relatorio.setPartidas(comparar(leituraRepository.streamPartidas(), modeloLeituraService.getPartidas(),
+                    PartidaLeitura::id, partidasDivergentes));
+        });
+
+        // um commit durante a varredura aparece no banco antes do afterCommit atualizar a memoria;
+        // os ids divergentes sao lidos de novo dos dois lados e so o que continua diferente e reportado
+        List<DivergenciaDTO> divergencias = new ArrayList<>();
+        transacao.executeWithoutResult(status -> {
+            divergencias.addAll(reverificar("time", timesDivergentes, leituraRepository::buscarTimes,
+                    modeloLeituraService::getTimes, TimeLeitura::id));
+            divergencias.addAll(reverificar("partida", partidasDivergentes, leituraRepository::buscarPartidas,
+                    modeloLeituraService::getPartidas, PartidaLeitura::id));
+        });
+        divergencias.addAll(modeloLeituraService.verificarIndices());
+
+        relatorio.setConsistente(divergencias.isEmpty());
+        relatorio.setTotalDivergencias(divergencias.size());
+        relatorio.setDivergencias(new ArrayList<>(divergencias.subList(0, Math.min(divergencias.size(), MAX_DIVERGENCIAS))));
+        relatorio.setDuracaoMs((System.nanoTime() - inicio) / 1_000_000);
+        if (!relatorio.isConsistente()) {
+            log.warn("Modelo de leitura diverge do banco em {} pontos; primeira divergencia: {} {} {}",
+                    divergencias.size(), divergencias.get(0).getTipo(), divergencias.get(0).getEntidade(),
+                    divergencias.get(0).getId());
+        }
+        return relatorio;
+    }
+
+    // devolve quantas linhas o banco tem e junta em divergentes os ids que nao batem com a memoria
+    private <T> long comparar(Stream<T> banco, Map<Integer, T> memoria, Function<T, Integer> id,
+                              Set<Integer> divergentes) {
+        Set<Integer> vistos = new HashSet<>();
+        try (banco) {
+            banco.forEach(linha -> {
+                vistos.add(id.apply(linha));
+                if (!linha.equals(memoria.get(id.apply(linha)))) {
+                    divergentes.add(id.apply(linha));
+                }
+            });
+        }
+        for (Integer idMemoria : memoria.keySet()) {
+            if (!vistos.contains(idMemoria)) {
+                divergentes.add(idMemoria);
+            }
+        }
+        return vistos.size();
+    }
+
+    private <T> List<DivergenciaDTO> reverificar(String entidade, Set<Integer> ids,
+                                                 Function<Collection<Integer>, List<T>> buscar,
+                                                 Supplier<Map<Integer, T>> memoria, Function<T, Integer> id) {
+        List<DivergenciaDTO> divergencias = new ArrayList<>();
+        List<Integer> pendentes = new ArrayList<>(ids);
+        for (int i = 0; i < pendentes.size(); i += TAMANHO_LOTE) {
+            List<Integer> lote = pendentes.subList(i, Math.min(i + TAMANHO_LOTE, pendentes.size()));
+            Map<Integer, T> banco = new HashMap<>();
+            for (T linha : buscar.apply(lote)) {
+                banco.put(id.apply(linha), linha);
+            }
+            Map<Integer, T> atual = memoria.get();
+            for (Integer idLinha : lote) {
+                T linhaBanco = banco.get(idLinha);
+                T linhaMemoria = atual.get(idLinha);
+                if (Objects.equals(linhaBanco, linhaMemoria)) {
+                    continue;
+                }
+                String tipo = linhaMemoria == null ? "AUSENTE_NA_MEMORIA"
+                        : linhaBanco == null ? "AUSENTE_NO_BANCO" : "DIFERENTE";
+                divergencias.add(new DivergenciaDTO(tipo, entidade, idLinha,
+                        Objects.toString(linhaBanco, null), Objects.toString(linhaMemoria, null)));
+            }
+        }
+        return divergencias;
+    }
+
+}
@@ -0,0 +1,385 @@
+package br.insper.loja.leitura.service;
+
+import br.insper.loja.leitura.dto.DivergenciaDTO;
+import br.insper.loja.leitura.model.PaginaLeitura;
+import br.insper.loja.leitura.model.PartidaLeitura;
+import br.insper.loja.leitura.model.TimeLeitura;
+import br.insper.loja.leitura.repository.LeituraRepository;
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import br.insper.loja.partida.model.Partida;
+import br.insper.loja.time.dto.VersaoColecaoDTO;
+import br.insper.loja.time.model.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Modelo de leitura em memoria com todos os times e partidas, indexados por id, identificador do time,
+// estado e status. Carregado do banco na subida (antes do servidor web aceitar requisicoes) e atualizado
+// pelos services de escrita depois do commit. Listagens e consultas por id de partida sao respondidas daqui,
+// sem ir ao banco; ConsistenciaLeituraService compara o modelo com as tabelas.
+@Service
+public class ModeloLeituraService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ModeloLeituraService.class);
+
+    private static final NavigableSet<Integer> VAZIO = Collections.emptyNavigableSet();
+
+    @Autowired
+    private LeituraRepository leituraRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // trocado inteiro na recarga; cada leitura pega a referencia uma vez e trabalha sobre ela
+    private volatile Indices indices = new Indices();
+
+    // serializa atualizacoes e recarga; leituras nao travam
+    private final ReentrantLock escrita = new ReentrantLock();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        carregar();
+    }
+
+    // Monta indices novos a partir do banco e troca de uma vez. Commits que acontecem durante a carga
+    // esperam a trava no afterCommit e sao aplicados sobre os indices novos.
+    public void carregar() {
+        escrita.lock();
+        try {
+            long inicio = System.nanoTime();
+            Indices novos = new Indices();
+            TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+            transacao.setReadOnly(true);
+            transacao.executeWithoutResult(status -> {
+                try (Stream<TimeLeitura> times = leituraRepository.streamTimes()) {
+                    times.forEach(novos::gravarTime);
+                }
+                try (Stream<PartidaLeitura> partidas = leituraRepository.streamPartidas()) {
+                    partidas.forEach(novos::gravarPartida);
+                }
+            });
+            indices = novos;
+            log.info("Modelo de leitura carregado: {} times e {} partidas em {} ms", novos.times.size(),
+                    novos.partidas.size(), (System.nanoTime() - inicio) / 1_000_000);
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    public void atualizarTime(Time time) {
+        aposCommit(() -> indices.gravarTime(TimeLeitura.de(time)));
+    }
+
+    public void atualizarPartida(Partida partida) {
+        atualizarPartidas(List.of(partida));
+    }
+
+    public void atualizarPartidas(Collection<Partida> partidas) {
+        aposCommit(() -> {
+            for (Partida partida : partidas) {
+                indices.gravarPartida(PartidaLeitura.de(partida));
+            }
+        });
+    }
+
+    // A linha e montada so no afterCommit: a versao incrementada pelo flush ja esta na entidade
+    // e um rollback nao deixa nada na memoria. Fora de transacao o repositorio ja fez o commit.
+    private void aposCommit(Runnable atualizacao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            aplicar(atualizacao);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                aplicar(atualizacao);
+            }
+        });
+    }
+
+    // o commit ja aconteceu: uma falha aqui nao pode virar erro para quem gravou
+    private void aplicar(Runnable atualizacao) {
+        escrita.lock();
+        try {
+            atualizacao.run();
+        } catch (RuntimeException e) {
+            log.error("Falha ao atualizar o modelo de leitura; POST /actuator/consistencia recarrega do banco", e);
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    public List<Time> listarTimes(String estado) {
+        List<Time> times = new ArrayList<>();
+        for (TimeLeitura time : timesDoEstado(indices, estado)) {
+            times.add(time.paraTime());
+        }
+        return times;
+    }
+
+    // quantidade muda a cada insert ou delete, soma das versoes a cada update
+    public VersaoColecaoDTO buscarVersaoTimes(String estado) {
+        long quantidade = 0;
+        long somaVersoes = 0;
+        for (TimeLeitura time : timesDoEstado(indices, estado)) {
+            quantidade++;
+            somaVersoes += time.versao();
+        }
+        return new VersaoColecaoDTO(quantidade, somaVersoes);
+    }
+
+    private List<TimeLeitura> timesDoEstado(Indices atual, String estado) {
+        if (estado == null) {
+            return new ArrayList<>(atual.times.values());
+        }
+        List<TimeLeitura> times = new ArrayList<>();
+        for (Integer id : atual.timesPorEstado.getOrDefault(estado, VAZIO)) {
+            TimeLeitura time = atual.times.get(id);
+            if (time != null && estado.equals(time.estado())) {
+                times.add(time);
+            }
+        }
+        return times;
+    }
+
+    // Filtros opcionais, ordem por id e keyset pelo cursor.
+    // Percorre o indice mais seletivo a partir do cursor e confere os demais filtros na propria linha.
+    public PaginaLeitura buscarPagina(String mandante, String visitante, String status, Integer cursor, int limite) {
+        Indices atual = indices;
+        List<RetornarPartidaDTO> pagina = new ArrayList<>();
+
+        Integer idMandante = null;
+        Integer idVisitante = null;
+        if (mandante != null) {
+            idMandante = atual.timesPorIdentificador.get(mandante);
+            if (idMandante == null) {
+                return new PaginaLeitura(pagina, 0);
+            }
+        }
+        if (visitante != null) {
+            idVisitante = atual.timesPorIdentificador.get(visitante);
+            if (idVisitante == null) {
+                return new PaginaLeitura(pagina, 0);
+            }
+        }
+
+        // o indice de um time tem poucas partidas; o de status costuma ter boa parte da tabela
+        NavigableSet<Integer> candidatos;
+        if (idMandante != null) {
+            candidatos = atual.partidasPorMandante.getOrDefault(idMandante, VAZIO);
+        } else if (idVisitante != null) {
+            candidatos = atual.partidasPorVisitante.getOrDefault(idVisitante, VAZIO);
+        } else if (status != null) {
+            candidatos = atual.partidasPorStatus.getOrDefault(status, VAZIO);
+        } else {
+            candidatos = atual.partidas.keySet();
+        }
+        if (cursor != null) {
+            candidatos = candidatos.tailSet(cursor, false);
+        }
+
+        int candidatosLidos = 0;
+        for (Integer id : candidatos) {
+            candidatosLidos++;
+            PartidaLeitura partida = atual.partidas.get(id);
+            if (partida == null
+                    || idMandante != null && !idMandante.equals(partida.idMandante())
+                    || idVisitante != null && !idVisitante.equals(partida.idVisitante())
+                    || status != null && !status.equals(partida.status())) {
+                continue;
+            }
+            RetornarPartidaDTO dto = paraDTO(atual, partida);
+            if (dto != null) {
+                pagina.add(dto);
+                if (pagina.size() >= limite) {
+                    break;
+                }
+            }
+        }
+        return new PaginaLeitura(pagina, candidatosLidos);
+    }
+
+    public Optional<RetornarPartidaDTO> buscarPartida(Integer id) {
+        Indices atual = indices;
+        PartidaLeitura partida = atual.partidas.get(id);
+        return partida == null ? Optional.empty() : Optional.ofNullable(paraDTO(atual, partida));
+    }
+
+    public Optional<Long> buscarVersaoPartida(Integer id) {
+        PartidaLeitura partida = indices.partidas.get(id);
+        return partida == null ? Optional.empty() : Optional.of(partida.versao());
+    }
+
+    // como o join da projecao do repositorio: partida sem os dois times nao aparece
+    private RetornarPartidaDTO paraDTO(Indices atual, PartidaLeitura partida) {
+        TimeLeitura mandante = atual.times.get(partida.idMandante());
+        TimeLeitura visitante = atual.times.get(partida.idVisitante());
+        if (mandante == null || visitante == null) {
+            return null;
+        }
+        return new RetornarPartidaDTO(partida.id(), mandante.nome(), visitante.nome(),
+                partida.placarMandante(), partida.placarVisitante(), partida.status());
+    }
+
+    public Map<Integer, TimeLeitura> getTimes() {
+        return Collections.unmodifiableMap(indices.times);
+    }
+
+    public Map<Integer, PartidaLeitura> getPartidas() {
+        return Collections.unmodifiableMap(indices.partidas);
+    }
+
+    // Confere os indices contra as linhas da memoria nos dois sentidos: toda linha esta no indice da sua chave
+    // e toda entrada de indice aponta para uma linha com aquela chave. Trava as escritas enquanto confere.
+    public List<DivergenciaDTO> verificarIndices() {
+        escrita.lock();
+        try {
+            Indices atual = indices;
+            List<DivergenciaDTO> divergencias = new ArrayList<>();
+
+            for (TimeLeitura time : atual.times.values()) {
+                if (time.identificador() != null && !time.id().equals(atual.timesPorIdentificador.get(time.identificador()))) {
+                    divergencias.add(divergenciaIndice("time", time.id(), "timesPorIdentificador sem " + time));
+                }
+                if (time.estado() != null && !atual.timesPorEstado.getOrDefault(time.estado(), VAZIO).contains(time.id())) {
+                    divergencias.add(divergenciaIndice("time", time.id(), "timesPorEstado sem " + time));
+                }
+            }
+            atual.timesPorIdentificador.forEach((identificador, id) -> {
+                TimeLeitura time = atual.times.get(id);
+                if (time == null || !identificador.equals(time.identificador())) {
+                    divergencias.add(divergenciaIndice("time", id, "timesPorIdentificador[" + identificador + "] -> " + time));
+                }
+            });
+            conferirSobras("time", "timesPorEstado", atual.timesPorEstado, atual.times, TimeLeitura::estado, divergencias);
+
+            for (PartidaLeitura partida : atual.partidas.values()) {
+                if (!atual.partidasPorMandante.getOrDefault(partida.idMandante(), VAZIO).contains(partida.id())
+                        || !atual.partidasPorVisitante.getOrDefault(partida.idVisitante(), VAZIO).contains(partida.id())
+                        || partida.status() != null
+                        && !atual.partidasPorStatus.getOrDefault(partida.status(), VAZIO).contains(partida.id())) {
+                    divergencias.add(divergenciaIndice("partida", partida.id(), "indices sem " + partida));
+                }
+            }
+            conferirSobras("partida", "partidasPorMandante", atual.partidasPorMandante, atual.partidas,
+                    PartidaLeitura::idMandante, divergencias);
+            conferirSobras("partida", "partidasPorVisitante", atual.partidasPorVisitante, atual.partidas,
+                    PartidaLeitura::idVisitante, divergencias);
+            conferirSobras("partida", "partidasPorStatus", atual.partidasPorStatus, atual.partidas,
+                    PartidaLeitura::status, divergencias);
+            return divergencias;
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    private static <K, T> void conferirSobras(String entidade, String nome, Map<K, NavigableSet<Integer>> indice,
+                                              Map<Integer, T> linhas, Function<T, K> chave,
+                                              List<DivergenciaDTO> divergencias) {
+        indice.forEach((valor, ids) -> {
+            for (Integer id : ids) {
+                T linha = linhas.get(id);
+                if (linha == null || !valor.equals(chave.apply(linha))) {
+                    divergencias.add(divergenciaIndice(entidade, id, nome + "[" + valor + "] -> " + linha));
+                }
+            }
+        });
+    }
+
+    private static DivergenciaDTO divergenciaIndice(String entidade, Integer id, String memoria) {
+        return new DivergenciaDTO("INDICE", entidade, id, null, memoria);
+    }
+
+    // Escritas so acontecem com a trava de escrita (ou em indices ainda nao publicados). A entrada nova do indice
+    // entra antes da linha e a antiga sai depois, para uma leitura concorrente sempre achar o id por um dos dois.
+    static final class Indices {
+
+        final ConcurrentSkipListMap<Integer, TimeLeitura> times = new ConcurrentSkipListMap<>();
+        final Map<String, Integer> timesPorIdentificador = new ConcurrentHashMap<>();
+        final Map<String, NavigableSet<Integer>> timesPorEstado = new ConcurrentHashMap<>();
+
+        final ConcurrentSkipListMap<Integer, PartidaLeitura> partidas = new ConcurrentSkipListMap<>();
+        final Map<Integer, NavigableSet<Integer>> partidasPorMandante = new ConcurrentHashMap<>();
+        final Map<Integer, NavigableSet<Integer>> partidasPorVisitante = new ConcurrentHashMap<>();
+        final Map<String, NavigableSet<Integer>> partidasPorStatus = new ConcurrentHashMap<>();
+
+        // versao menor e de um afterCommit atrasado: a linha da memoria ja e mais nova
+        void gravarTime(TimeLeitura nova) {
+            TimeLeitura antiga = times.get(nova.id());
+            if (antiga != null && antiga.versao() > nova.versao()) {
+                return;
+            }
+            if (nova.identificador() != null) {
+                timesPorIdentificador.put(nova.identificador(), nova.id());
+            }
+            adicionar(timesPorEstado, nova.estado(), nova.id());
+            times.put(nova.id(), nova);
+            if (antiga != null) {
+                if (antiga.identificador() != null && !antiga.identificador().equals(nova.identificador())) {
+                    timesPorIdentificador.remove(antiga.identificador(), antiga.id());
+                }
+                if (!Objects.equals(antiga.estado(), nova.estado())) {
+                    remover(timesPorEstado, antiga.estado(), antiga.id());
+                }
+            }
+        }
+
+        void gravarPartida(PartidaLeitura nova) {
+            PartidaLeitura antiga = partidas.get(nova.id());
+            if (antiga != null && antiga.versao() > nova.versao()) {
+                return;
+            }
+            adicionar(partidasPorMandante, nova.idMandante(), nova.id());
+            adicionar(partidasPorVisitante, nova.idVisitante(), nova.id());
+            adicionar(partidasPorStatus, nova.status(), nova.id());
+            partidas.put(nova.id(), nova);
+            if (antiga != null) {
+                if (!Objects.equals(antiga.idMandante(), nova.idMandante())) {
+                    remover(partidasPorMandante, antiga.idMandante(), antiga.id());
+                }
+                if (!Objects.equals(antiga.idVisitante(), nova.idVisitante())) {
+                    remover(partidasPorVisitante, antiga.idVisitante(), antiga.id());
+                }
+                if (!Objects.equals(antiga.status(), nova.status())) {
+                    remover(partidasPorStatus, antiga.status(), antiga.id());
+                }
+            }
+        }
+
+        // ConcurrentHashMap nao aceita chave nula: linha sem o campo fica fora daquele indice
+        private static <K> void adicionar(Map<K, NavigableSet<Integer>> indice, K chave, Integer id) {
+            if (chave != null) {
+                indice.computeIfAbsent(chave, c -> new ConcurrentSkipListSet<>()).add(id);
+            }
+        }
+
+        private static <K> void remover(Map<K, NavigableSet<Integer>> indice, K chave, Integer id) {
+            NavigableSet<Integer> ids = chave == null ? null : indice.get(chave);
+            if (ids != null) {
+                ids.remove(id);
+            }
+        }
+    }
+
+}
@@ -3,6 +3,8 @@
     import br.insper.loja.common.Erro;
     import br.insper.loja.partida.exception.PartidaNaoEncontradaException;
     import br.insper.loja.time.exception.TimeNaoEncontradoException;
+    import io.micrometer.core.instrument.MeterRegistry;
+    import org.springframework.beans.factory.annotation.Autowired;
     import org.springframework.http.HttpStatus;
     import org.springframework.web.bind.annotation.ControllerAdvice;
     import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -14,10 +16,14 @@
     @ControllerAdvice
     public class PartidaAdvice {
 
+        @Autowired
+        private MeterRegistry meterRegistry;
+
         @ExceptionHandler(PartidaNaoEncontradaException.class)
         @ResponseBody
         @ResponseStatus(HttpStatus.NOT_FOUND)
         public Erro timeNaoEncontradoHandler(PartidaNaoEncontradaException e) {
+            meterRegistry.counter("excecoes.nao.encontrado", "recurso", "partida").increment();
             Erro erro = new Erro();
             erro.setMensagem(e.getMessage());
             erro.setData(LocalDateTime.now());
@@ -1,12 +1,22 @@
 package br.insper.loja.partida.controller;
 
 import br.insper.loja.partida.dto.EditarPartidaDTO;
+import br.insper.loja.partida.dto.EditarPartidaLoteDTO;
+import br.insper.loja.partida.dto.LoteEventosDTO;
+import br.insper.loja.partida.dto.PaginaPartidaDTO;
+import br.insper.loja.partida.dto.ResultadoLoteDTO;
 import br.insper.loja.partida.dto.RetornarPartidaDTO;
 import br.insper.loja.partida.dto.SalvarPartidaDTO;
+import br.insper.loja.partida.service.EventoPartidaService;
 import br.insper.loja.partida.service.PartidaService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -16,14 +26,42 @@ public class PartidaController {
     @Autowired
     private PartidaService partidaService;
 
+    @Autowired
+    private EventoPartidaService eventoPartidaService;
+
     @GetMapping("/partida")
-    public List<RetornarPartidaDTO> getPartida(@RequestParam(required = false) String mandante) {
-        return partidaService.listarPartidas(mandante);
+    public PaginaPartidaDTO getPartida(@RequestParam(required = false) String mandante,
+                                       @RequestParam(required = false) String visitante,
+                                       @RequestParam(required = false) String status,
+                                       @RequestParam(required = false) Integer cursor,
+                                       @RequestParam(required = false) Integer tamanho) {
+        return partidaService.listarPartidas(mandante, visitante, status, cursor, tamanho);
+    }
+
+    @GetMapping(value = "/partida/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarPartidas() {
+        StreamingResponseBody body = saida -> partidaService.exportarPartidas(saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/partida/eventos")
+    public DeferredResult<LoteEventosDTO> getEventos(@RequestParam(required = false) Long after,
+                                                     @RequestParam(required = false) Integer limite,
+                                                     @RequestParam(required = false) Long espera) {
+        return eventoPartidaService.aguardarEventos(after, limite, espera);
     }
 
     @GetMapping("/partida/{id}")
-    public RetornarPartidaDTO getPartida(@PathVariable Integer id) {
-        return partidaService.getPartida(id);
+    public ResponseEntity<RetornarPartidaDTO> getPartida(@PathVariable Integer id, WebRequest request) {
+        String etag = "partida-" + id + "-" + partidaService.getVersaoPartida(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .body(partidaService.getPartida(id));
     }
 
     @PostMapping("/partida")
@@ -32,6 +70,17 @@ public class PartidaController {
         return partidaService.cadastrarPartida(partida);
     }
 
+    @PostMapping("/partida/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ResultadoLoteDTO salvarPartidas(@RequestBody List<SalvarPartidaDTO> partidas) {
+        return partidaService.cadastrarPartidas(partidas);
+    }
+
+    @PostMapping("/partida/resultados")
+    public ResultadoLoteDTO editarPartidas(@RequestBody List<EditarPartidaLoteDTO> partidas) {
+        return partidaService.editarPartidas(partidas);
+    }
+
     @PostMapping("/partida/{id}")
     @ResponseStatus(HttpStatus.CREATED)
     public RetornarPartidaDTO editarPartida(@RequestBody EditarPartidaDTO partida, @PathVariable Integer id) {
@@ -0,0 +1,47 @@
+package br.insper.loja.partida.dto;
+
+public class ErroLoteDTO {
+    // posicao do item na lista enviada
+    private Integer indice;
+    // id da partida, quando o item se refere a uma partida existente
+    private Integer id;
+    private String mensagem;
+
+    public ErroLoteDTO() {
+    }
+
+    public ErroLoteDTO(Integer indice, String mensagem) {
+        this.indice = indice;
+        this.mensagem = mensagem;
+    }
+
+    public ErroLoteDTO(Integer indice, Integer id, String mensagem) {
+        this.indice = indice;
+        this.id = id;
+        this.mensagem = mensagem;
+    }
+
+    public Integer getIndice() {
+        return indice;
+    }
+
+    public void setIndice(Integer indice) {
+        this.indice = indice;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
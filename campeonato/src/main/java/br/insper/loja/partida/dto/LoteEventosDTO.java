@@ -0,0 +1,36 @@
+package br.insper.loja.partida.dto;
+
+import br.insper.loja.partida.model.EventoPartida;
+
+import java.util.List;
+
+public class LoteEventosDTO {
+    private List<EventoPartida> eventos;
+
+    // valor para o proximo ?after=; igual ao recebido quando nao ha eventos novos
+    private Long cursor;
+
+    public LoteEventosDTO() {
+    }
+
+    public LoteEventosDTO(List<EventoPartida> eventos, Long cursor) {
+        this.eventos = eventos;
+        this.cursor = cursor;
+    }
+
+    public List<EventoPartida> getEventos() {
+        return eventos;
+    }
+
+    public void setEventos(List<EventoPartida> eventos) {
+        this.eventos = eventos;
+    }
+
+    public Long getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(Long cursor) {
+        this.cursor = cursor;
+    }
+}
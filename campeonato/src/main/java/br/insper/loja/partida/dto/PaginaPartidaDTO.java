@@ -0,0 +1,34 @@
+package br.insper.loja.partida.dto;
+
+import java.util.List;
+
+public class PaginaPartidaDTO {
+    private List<RetornarPartidaDTO> partidas;
+
+    // id da ultima partida da pagina; null quando nao ha proxima pagina
+    private Integer proximoCursor;
+
+    public PaginaPartidaDTO() {
+    }
+
+    public PaginaPartidaDTO(List<RetornarPartidaDTO> partidas, Integer proximoCursor) {
+        this.partidas = partidas;
+        this.proximoCursor = proximoCursor;
+    }
+
+    public List<RetornarPartidaDTO> getPartidas() {
+        return partidas;
+    }
+
+    public void setPartidas(List<RetornarPartidaDTO> partidas) {
+        this.partidas = partidas;
+    }
+
+    public Integer getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public void setProximoCursor(Integer proximoCursor) {
+        this.proximoCursor = proximoCursor;
+    }
+}
@@ -0,0 +1,25 @@
+package br.insper.loja.partida.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResultadoLoteDTO {
+    private List<RetornarPartidaDTO> partidas = new ArrayList<>();
+    private List<ErroLoteDTO> erros = new ArrayList<>();
+
+    public List<RetornarPartidaDTO> getPartidas() {
+        return partidas;
+    }
+
+    public void setPartidas(List<RetornarPartidaDTO> partidas) {
+        this.partidas = partidas;
+    }
+
+    public List<ErroLoteDTO> getErros() {
+        return erros;
+    }
+
+    public void setErros(List<ErroLoteDTO> erros) {
+        this.erros = erros;
+    }
+}
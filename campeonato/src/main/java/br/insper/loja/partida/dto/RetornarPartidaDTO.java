@@ -11,6 +11,19 @@ public class RetornarPartidaDTO {
 
     private String status;
 
+    public RetornarPartidaDTO() {
+    }
+
+    public RetornarPartidaDTO(Integer id, String nomeMandante, String nomeVisitante,
+                              Integer placarMandante, Integer placarVisitante, String status) {
+        this.id = id;
+        this.nomeMandante = nomeMandante;
+        this.nomeVisitante = nomeVisitante;
+        this.placarMandante = placarMandante;
+        this.placarVisitante = placarVisitante;
+        this.status = status;
+    }
+
     public static RetornarPartidaDTO getRetornarPartidaDTO(Partida partida) {
         RetornarPartidaDTO retornarPartidaDTO = new RetornarPartidaDTO();
         retornarPartidaDTO.setId(partida.getId());
@@ -0,0 +1,35 @@
+package br.insper.loja.partida.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(indexes = @Index(name = "idx_evento_partida_sequencia", columnList = "sequencia", unique = true))
+@Getter
+@Setter
+public class EventoPartida {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_partida_seq")
+    @SequenceGenerator(name = "evento_partida_seq", sequenceName = "evento_partida_seq", allocationSize = 50)
+    private Long id;
+
+    // cursor do feed: numerado no commit, na ordem dos commits e sem buracos (ver EventoPartidaService)
+    private Long sequencia;
+
+    private Integer idPartida;
+
+    private String tipo; // CADASTRADA, RESULTADO
+
+    private String status;
+
+    private Integer placarMandante;
+
+    private Integer placarVisitante;
+
+    private LocalDateTime data;
+
+}
@@ -4,13 +4,19 @@ import br.insper.loja.time.model.Time;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Getter
 @Setter
 public class Partida {
+
+    public static final int TAMANHO_BLOCO_ID = 50;
+
+    // sequence com pooled optimizer: ids reservados em blocos permitem insert em lote
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "partida_seq")
+    @SequenceGenerator(name = "partida_seq", sequenceName = "partida_seq", allocationSize = Partida.TAMANHO_BLOCO_ID)
     private Integer id;
 
     private String identificador;
@@ -28,5 +34,9 @@ public class Partida {
 
     private String status;
 
+    // default 0 para que o ddl-auto preencha as linhas que ja existiam
+    @Version
+    @ColumnDefault("0")
+    private long versao;
 
 }
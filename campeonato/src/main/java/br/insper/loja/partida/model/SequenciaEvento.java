@@ -0,0 +1,21 @@
+package br.insper.loja.partida.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.Setter;
+
+// linha unica com o ultimo numero de sequencia entregue ao feed de eventos; travada no commit (ver EventoPartidaService)
+@Entity
+@Getter
+@Setter
+public class SequenciaEvento {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    private Long ultimo;
+
+}
@@ -0,0 +1,13 @@
+package br.insper.loja.partida.repository;
+
+import br.insper.loja.partida.model.EventoPartida;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface EventoPartidaRepository extends JpaRepository<EventoPartida, Long> {
+
+    List<EventoPartida> findBySequenciaGreaterThanOrderBySequenciaAsc(Long sequencia, Limit limite);
+
+}
@@ -0,0 +1,27 @@
+package br.insper.loja.partida.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// A listagem de partidas sai do modelo de leitura desde que ele existe; os indices que atendiam a consulta
+// keyset no banco so custavam em insert e update. O ddl-auto=update nao remove indices: bancos antigos
+// perdem os tres aqui, na subida.
+@Component
+public class PartidaIndicesInicializador implements ApplicationRunner {
+
+    private static final String[] INDICES_ANTIGOS = {"idx_partida_mandante", "idx_partida_visitante", "idx_partida_status"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String indice : INDICES_ANTIGOS) {
+            jdbcTemplate.execute("drop index if exists " + indice);
+        }
+    }
+
+}
@@ -1,11 +1,35 @@
 package br.insper.loja.partida.repository;
 
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
 import br.insper.loja.partida.model.Partida;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface PartidaRepository extends JpaRepository<Partida, Integer> {
 
+    String PROJECAO_DTO = "select new br.insper.loja.partida.dto.RetornarPartidaDTO("
+            + "p.id, m.nome, v.nome, p.placarMandante, p.placarVisitante, p.status) "
+            + "from Partida p join p.mandante m join p.visitante v";
+
+    @Query("select p from Partida p join fetch p.mandante join fetch p.visitante where p.id in :ids")
+    List<Partida> buscarComTimes(Collection<Integer> ids);
+
+    @Query("select p from Partida p join fetch p.mandante join fetch p.visitante where p.status = 'REALIZADA'")
+    Stream<Partida> streamRealizadas();
+
+    // Deve ser consumido dentro de uma transacao; o driver traz as linhas em lotes do fetch size.
+    @Query(PROJECAO_DTO + " order by p.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<RetornarPartidaDTO> streamPartidas();
 
 }
@@ -0,0 +1,31 @@
+package br.insper.loja.partida.repository;
+
+import br.insper.loja.partida.model.Partida;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Bancos criados quando partida.id era IDENTITY ja tem linhas; a sequence nova comeca em 1.
+// Na subida, avanca partida_seq para depois do maior id existente.
+@Component
+public class PartidaSequenciaInicializador implements ApplicationRunner {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long maiorId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from partida", Long.class);
+        Long proximoValor = jdbcTemplate.queryForObject(
+                "select base_value from information_schema.sequences where lower(sequence_name) = 'partida_seq'",
+                Long.class);
+
+        // o pooled optimizer pode entregar ids ate TAMANHO_BLOCO_ID - 1 abaixo do valor da sequence
+        if (maiorId > 0 && proximoValor != null && proximoValor - Partida.TAMANHO_BLOCO_ID < maiorId) {
+            jdbcTemplate.execute("alter sequence partida_seq restart with " + (maiorId + Partida.TAMANHO_BLOCO_ID + 1));
+        }
+    }
+
+}
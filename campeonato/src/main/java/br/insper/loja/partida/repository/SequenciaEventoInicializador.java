@@ -0,0 +1,33 @@
+package br.insper.loja.partida.repository;
+
+import br.insper.loja.partida.model.SequenciaEvento;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Cria a linha de SequenciaEvento antes do servidor web aceitar requisicoes.
+// Eventos gravados antes da coluna sequencia existir foram commitados em ordem de id: recebem o proprio id.
+@Component
+public class SequenciaEventoInicializador implements SmartInitializingSingleton {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        jdbcTemplate.update("update evento_partida set sequencia = id where sequencia is null");
+        Integer linhas = jdbcTemplate.queryForObject("select count(*) from sequencia_evento where id = ?",
+                Integer.class, SequenciaEvento.ID);
+        if (linhas == 0) {
+            try {
+                jdbcTemplate.update("insert into sequencia_evento (id, ultimo) "
+                        + "select ?, coalesce(max(sequencia), 0) from evento_partida", SequenciaEvento.ID);
+            } catch (DuplicateKeyException e) {
+                // outra instancia subiu ao mesmo tempo e criou a linha
+            }
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package br.insper.loja.partida.repository;
+
+import br.insper.loja.partida.model.SequenciaEvento;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SequenciaEventoRepository extends JpaRepository<SequenciaEvento, Integer> {
+
+    // a trava vale ate o commit: a proxima transacao so numera seus eventos depois deste commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from SequenciaEvento s where s.id = :id")
+    Optional<SequenciaEvento> buscarParaAtualizar(Integer id);
+
+}
@@ -0,0 +1,198 @@
+package br.insper.loja.partida.service;
+
+import br.insper.loja.partida.dto.LoteEventosDTO;
+import br.insper.loja.partida.model.EventoPartida;
+import br.insper.loja.partida.model.Partida;
+import br.insper.loja.partida.model.SequenciaEvento;
+import br.insper.loja.partida.repository.EventoPartidaRepository;
+import br.insper.loja.partida.repository.SequenciaEventoRepository;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@Observed(name = "servico.chamadas")
+public class EventoPartidaService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventoPartidaService.class);
+
+    private static final int LIMITE_PADRAO = 100;
+    private static final int LIMITE_MAXIMO = 1000;
+    private static final long ESPERA_MAXIMA_SEGUNDOS = 60;
+
+    @Autowired
+    private EventoPartidaRepository eventoPartidaRepository;
+
+    @Autowired
+    private SequenciaEventoRepository sequenciaEventoRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // chave dos eventos da transacao corrente no TransactionSynchronizationManager
+    private final Object eventosDaTransacao = new Object();
+
+    private final Queue<Aguardando> aguardando = new ConcurrentLinkedQueue<>();
+
+    private final ExecutorService notificador = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("notificador-eventos").daemon().factory());
+
+    private final AtomicBoolean notificacaoPendente = new AtomicBoolean();
+
+    private record Aguardando(long after, int limite, DeferredResult<LoteEventosDTO> resultado) {
+    }
+
+    // Deve ser chamado dentro da transacao que altera a partida (outbox transacional).
+    public void registrar(Partida partida, String tipo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Eventos de partida devem ser gravados dentro de uma transação");
+        }
+        @SuppressWarnings("unchecked")
+        List<EventoPartida> eventos = (List<EventoPartida>) TransactionSynchronizationManager.getResource(eventosDaTransacao);
+        if (eventos == null) {
+            List<EventoPartida> novos = new ArrayList<>();
+            eventos = novos;
+            TransactionSynchronizationManager.bindResource(eventosDaTransacao, novos);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    numerar(novos);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(eventosDaTransacao);
+                    if (status == STATUS_COMMITTED) {
+                        agendarNotificacao();
+                    }
+                }
+            });
+        }
+
+        EventoPartida evento = new EventoPartida();
+        evento.setIdPartida(partida.getId());
+        evento.setTipo(tipo);
+        evento.setStatus(partida.getStatus());
+        evento.setPlacarMandante(partida.getPlacarMandante());
+        evento.setPlacarVisitante(partida.getPlacarVisitante());
+        evento.setData(LocalDateTime.now());
+        eventoPartidaRepository.save(evento);
+        eventos.add(evento);
+    }
+
+    // A sequencia vem da linha de SequenciaEvento, travada daqui ate o commit: a transacao seguinte so le o
+    // contador depois deste commit, entao sequencias visiveis nunca tem buraco e o cursor do feed nao pula
+    // eventos, com qualquer numero de instancias no mesmo banco. O flush antes da trava deixa so a numeracao
+    // e o commit dentro dela.
+    private void numerar(List<EventoPartida> eventos) {
+        entityManager.flush();
+        SequenciaEvento sequencia = sequenciaEventoRepository.buscarParaAtualizar(SequenciaEvento.ID)
+                .orElseThrow(() -> new IllegalStateException("Sequência de eventos não inicializada"));
+        long ultimo = sequencia.getUltimo();
+        for (EventoPartida evento : eventos) {
+            evento.setSequencia(++ultimo);
+        }
+        sequencia.setUltimo(ultimo);
+    }
+
+    public LoteEventosDTO buscarEventos(long after, int limite) {
+        List<EventoPartida> eventos = eventoPartidaRepository.findBySequenciaGreaterThanOrderBySequenciaAsc(after, Limit.of(limite));
+        Long cursor = eventos.isEmpty() ? after : eventos.get(eventos.size() - 1).getSequencia();
+        return new LoteEventosDTO(eventos, cursor);
+    }
+
+    // Long poll: responde na hora se ja ha eventos depois do cursor; senao segura a requisicao
+    // ate o proximo commit com eventos ou ate a espera acabar (lote vazio, mesmo cursor).
+    public DeferredResult<LoteEventosDTO> aguardarEventos(Long after, Integer limite, Long esperaSegundos) {
+        long cursor = after == null ? 0 : after;
+        int tamanho = limite == null ? LIMITE_PADRAO : Math.min(Math.max(limite, 1), LIMITE_MAXIMO);
+        long espera = esperaSegundos == null ? 0 : Math.min(Math.max(esperaSegundos, 0), ESPERA_MAXIMA_SEGUNDOS);
+
+        DeferredResult<LoteEventosDTO> resultado = new DeferredResult<>(
+                espera * 1000, () -> new LoteEventosDTO(List.of(), cursor));
+
+        if (espera > 0) {
+            // registra antes de consultar para nao perder um commit que aconteca no meio
+            Aguardando pedido = new Aguardando(cursor, tamanho, resultado);
+            aguardando.add(pedido);
+            resultado.onCompletion(() -> aguardando.remove(pedido));
+        }
+
+        LoteEventosDTO lote = buscarEventos(cursor, tamanho);
+        if (espera == 0 || !lote.getEventos().isEmpty()) {
+            resultado.setResult(lote);
+        }
+        return resultado;
+    }
+
+    // o commit so agenda a notificacao: a consulta roda na thread do notificador, fora da requisicao que fez o
+    // commit, e commits seguidos enquanto uma notificacao espera na fila sao atendidos por ela
+    private void agendarNotificacao() {
+        if (!aguardando.isEmpty() && notificacaoPendente.compareAndSet(false, true)) {
+            notificador.execute(this::notificarAguardando);
+        }
+    }
+
+    // Uma consulta a partir do menor cursor entre os pedidos; cada pedido recebe a sua fatia. So repete a
+    // consulta para pedidos cujo cursor esta alem do lote lido (lote cheio sem nada depois do cursor deles).
+    private void notificarAguardando() {
+        notificacaoPendente.set(false);
+        try {
+            List<Aguardando> pendentes = new ArrayList<>();
+            for (Aguardando pedido : aguardando) {
+                if (pedido.resultado().isSetOrExpired()) {
+                    aguardando.remove(pedido);
+                } else {
+                    pendentes.add(pedido);
+                }
+            }
+            while (!pendentes.isEmpty()) {
+                long inicio = pendentes.stream().mapToLong(Aguardando::after).min().getAsLong();
+                int limite = pendentes.stream().mapToInt(Aguardando::limite).max().getAsInt();
+                List<EventoPartida> eventos =
+                        eventoPartidaRepository.findBySequenciaGreaterThanOrderBySequenciaAsc(inicio, Limit.of(limite));
+                List<Aguardando> adiante = new ArrayList<>();
+                for (Aguardando pedido : pendentes) {
+                    List<EventoPartida> fatia = eventos.stream()
+                            .filter(evento -> evento.getSequencia() > pedido.after())
+                            .limit(pedido.limite())
+                            .toList();
+                    if (!fatia.isEmpty()) {
+                        pedido.resultado().setResult(new LoteEventosDTO(fatia, fatia.get(fatia.size() - 1).getSequencia()));
+                        aguardando.remove(pedido);
+                    } else if (eventos.size() == limite) {
+                        adiante.add(pedido);
+                    }
+                }
+                pendentes = adiante;
+            }
+        } catch (RuntimeException e) {
+            // os pedidos continuam esperando o proximo commit ou o fim da espera
+            log.warn("Falha ao notificar consultas do feed de eventos", e);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        notificador.shutdownNow();
+    }
+
+}
@@ -0,0 +1,40 @@
+package br.insper.loja.partida.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// a pagina sai do modelo de leitura, que percorre o indice mais seletivo a partir do cursor ate juntar limite + 1;
+// linhas lidas = ids percorridos no indice (inclusive os descartados por outro filtro), devolvidas = linhas da pagina
+@Name("br.insper.loja.ListagemPartidas")
+@Label("Listagem de partidas")
+@Category({"Campeonato", "Partida"})
+@Description("Uma pagina de GET /partida")
+@StackTrace(false)
+class ListagemPartidasEvento extends Event {
+
+    @Label("Mandante")
+    String mandante;
+
+    @Label("Visitante")
+    String visitante;
+
+    @Label("Status")
+    String status;
+
+    @Label("Cursor")
+    @Description("0 na primeira pagina")
+    int cursor;
+
+    @Label("Limite")
+    int limite;
+
+    @Label("Linhas lidas")
+    int linhasLidas;
+
+    @Label("Linhas devolvidas")
+    int linhasDevolvidas;
+}
@@ -1,6 +1,13 @@
 package br.insper.loja.partida.service;
 
+import br.insper.loja.classificacao.service.ClassificacaoService;
+import br.insper.loja.leitura.model.PaginaLeitura;
+import br.insper.loja.leitura.service.ModeloLeituraService;
 import br.insper.loja.partida.dto.EditarPartidaDTO;
+import br.insper.loja.partida.dto.EditarPartidaLoteDTO;
+import br.insper.loja.partida.dto.ErroLoteDTO;
+import br.insper.loja.partida.dto.PaginaPartidaDTO;
+import br.insper.loja.partida.dto.ResultadoLoteDTO;
 import br.insper.loja.partida.exception.PartidaNaoEncontradaException;
 import br.insper.loja.partida.model.Partida;
 import br.insper.loja.partida.repository.PartidaRepository;
@@ -8,22 +15,50 @@ import br.insper.loja.partida.dto.RetornarPartidaDTO;
 import br.insper.loja.partida.dto.SalvarPartidaDTO;
 import br.insper.loja.time.model.Time;
 import br.insper.loja.time.service.TimeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
+@Observed(name = "servico.chamadas")
 public class PartidaService {
 
+    private static final int TAMANHO_PADRAO = 50;
+    private static final int TAMANHO_MAXIMO = 500;
+
     @Autowired
     private PartidaRepository partidaRepository;
 
     @Autowired
     private TimeService timeService;
 
+    @Autowired
+    private ClassificacaoService classificacaoService;
+
+    @Autowired
+    private EventoPartidaService eventoPartidaService;
+
+    @Autowired
+    private ModeloLeituraService modeloLeituraService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional
     public RetornarPartidaDTO cadastrarPartida(SalvarPartidaDTO salvarPartidaDTO) {
 
         Time mandante = timeService.getTime(salvarPartidaDTO.getMandante());
@@ -35,47 +70,184 @@ public class PartidaService {
         partida.setStatus("AGENDADA");
 
         partida = partidaRepository.save(partida);
+        eventoPartidaService.registrar(partida, "CADASTRADA");
+        modeloLeituraService.atualizarPartida(partida);
         return RetornarPartidaDTO.getRetornarPartidaDTO(partida);
     }
 
 
 
-    public List<RetornarPartidaDTO> listarPartidas(String mandante) {
-        List<Partida> partidas = partidaRepository.findAll();
-        if  (mandante != null) {
-            ArrayList<RetornarPartidaDTO> lista = new ArrayList<>();
-
-            for (Partida partida  : partidas) {
-                if (partida.getMandante().getIdentificador().equals(mandante))  {
-                    lista.add(RetornarPartidaDTO.getRetornarPartidaDTO(partida));
-                }
+    // Times resolvidos com uma consulta so; os inserts saem em lotes (hibernate.jdbc.batch_size)
+    // no commit. Itens invalidos sao reportados em erros e nao impedem os demais.
+    @Transactional
+    public ResultadoLoteDTO cadastrarPartidas(List<SalvarPartidaDTO> salvarPartidaDTOs) {
+        Set<Integer> idsTimes = new HashSet<>();
+        for (SalvarPartidaDTO dto : salvarPartidaDTOs) {
+            if (dto.getMandante() != null) {
+                idsTimes.add(dto.getMandante());
+            }
+            if (dto.getVisitante() != null) {
+                idsTimes.add(dto.getVisitante());
+            }
+        }
+        Map<Integer, Time> times = timeService.getTimes(idsTimes);
+
+        ResultadoLoteDTO resultado = new ResultadoLoteDTO();
+        List<Partida> partidas = new ArrayList<>();
+        for (int i = 0; i < salvarPartidaDTOs.size(); i++) {
+            SalvarPartidaDTO dto = salvarPartidaDTOs.get(i);
+            Time mandante = times.get(dto.getMandante());
+            Time visitante = times.get(dto.getVisitante());
+
+            if (mandante == null) {
+                resultado.getErros().add(new ErroLoteDTO(i, "Time " + dto.getMandante() + " não encontrado"));
+            } else if (visitante == null) {
+                resultado.getErros().add(new ErroLoteDTO(i, "Time " + dto.getVisitante() + " não encontrado"));
+            } else {
+                Partida partida = new Partida();
+                partida.setMandante(mandante);
+                partida.setVisitante(visitante);
+                partida.setStatus("AGENDADA");
+                partidas.add(partida);
             }
-            return lista;
         }
 
-        List<RetornarPartidaDTO> response = new ArrayList<>();
-        for (Partida partida : partidas) {
-            response.add(RetornarPartidaDTO.getRetornarPartidaDTO(partida));
+        List<Partida> salvas = partidaRepository.saveAll(partidas);
+        for (Partida partida : salvas) {
+            eventoPartidaService.registrar(partida, "CADASTRADA");
+            resultado.getPartidas().add(RetornarPartidaDTO.getRetornarPartidaDTO(partida));
+        }
+        modeloLeituraService.atualizarPartidas(salvas);
+        return resultado;
+    }
+
+    public PaginaPartidaDTO listarPartidas(String mandante, String visitante, String status,
+                                           Integer cursor, Integer tamanho) {
+        ListagemPartidasEvento evento = new ListagemPartidasEvento();
+        evento.begin();
+        int limite = tamanho == null ? TAMANHO_PADRAO : Math.min(Math.max(tamanho, 1), TAMANHO_MAXIMO);
+
+        // busca um registro a mais so para saber se existe proxima pagina
+        PaginaLeitura pagina = modeloLeituraService.buscarPagina(mandante, visitante, status, cursor, limite + 1);
+        List<RetornarPartidaDTO> partidas = pagina.partidas();
+
+        boolean temProxima = partidas.size() > limite;
+        if (temProxima) {
+            partidas = new ArrayList<>(partidas.subList(0, limite));
+        }
+
+        Integer proximoCursor = temProxima ? partidas.get(partidas.size() - 1).getId() : null;
+
+        if (evento.shouldCommit()) {
+            evento.mandante = mandante;
+            evento.visitante = visitante;
+            evento.status = status;
+            evento.cursor = cursor == null ? 0 : cursor;
+            evento.limite = limite;
+            evento.linhasLidas = pagina.candidatosLidos();
+            evento.linhasDevolvidas = partidas.size();
+            evento.commit();
+        }
+        return new PaginaPartidaDTO(partidas, proximoCursor);
+    }
+
+    // Escreve uma partida por linha (NDJSON) conforme as linhas chegam do banco,
+    // sem montar a lista inteira em memoria.
+    @Transactional(readOnly = true)
+    public void exportarPartidas(OutputStream saida) throws IOException {
+        try (Stream<RetornarPartidaDTO> partidas = partidaRepository.streamPartidas()) {
+            Iterator<RetornarPartidaDTO> iterator = partidas.iterator();
+            while (iterator.hasNext()) {
+                saida.write(objectMapper.writeValueAsBytes(iterator.next()));
+                saida.write('\n');
+            }
         }
-        return response;
+        saida.flush();
     }
 
+    @Transactional
     public RetornarPartidaDTO editarPartida(EditarPartidaDTO dto, Integer id) {
 
-        Partida partida = partidaRepository.findById(id).get();
-        partida.setPlacarMandante(dto.getPlacarMandante());
-        partida.setPlacarVisitante(dto.getPlacarVisitante());
-        partida.setStatus("REALIZADA");
+        Partida partida = partidaRepository.findById(id)
+                .orElseThrow(() -> new PartidaNaoEncontradaException("Partida não encontrada"));
+        registrarResultado(partida, dto);
 
         partida = partidaRepository.save(partida);
+        eventoPartidaService.registrar(partida, "RESULTADO");
+        modeloLeituraService.atualizarPartida(partida);
         return RetornarPartidaDTO.getRetornarPartidaDTO(partida);
 
     }
 
+    // Carrega todas as partidas da rodada com um select e deixa o flush do commit
+    // enviar os updates em lote. Ids inexistentes vao para erros.
+    @Transactional
+    public ResultadoLoteDTO editarPartidas(List<EditarPartidaLoteDTO> dtos) {
+        Set<Integer> ids = new HashSet<>();
+        for (EditarPartidaLoteDTO dto : dtos) {
+            if (dto.getId() != null) {
+                ids.add(dto.getId());
+            }
+        }
+
+        Map<Integer, Partida> partidas = new HashMap<>();
+        for (Partida partida : partidaRepository.buscarComTimes(ids)) {
+            partidas.put(partida.getId(), partida);
+        }
+
+        // trava antes, em ordem de id, as linhas de classificacao de todos os times da rodada:
+        // duas rodadas concorrentes com times em comum nao travam em ordens opostas
+        List<Time> times = new ArrayList<>();
+        for (Partida partida : partidas.values()) {
+            times.add(partida.getMandante());
+            times.add(partida.getVisitante());
+        }
+        classificacaoService.travarLinhas(times);
+
+        ResultadoLoteDTO resultado = new ResultadoLoteDTO();
+        List<Partida> editadas = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            EditarPartidaLoteDTO dto = dtos.get(i);
+            Partida partida = partidas.get(dto.getId());
+            if (partida == null) {
+                resultado.getErros().add(new ErroLoteDTO(i, dto.getId(), "Partida não encontrada"));
+                continue;
+            }
+            registrarResultado(partida, dto);
+            editadas.add(partida);
+            resultado.getPartidas().add(RetornarPartidaDTO.getRetornarPartidaDTO(partida));
+        }
+
+        // a linha da sequencia do feed so e travada no commit, sempre depois das linhas da classificacao
+        for (Partida partida : editadas) {
+            eventoPartidaService.registrar(partida, "RESULTADO");
+        }
+        modeloLeituraService.atualizarPartidas(editadas);
+        return resultado;
+    }
+
+    // Mantem a classificacao na mesma transacao: um resultado ja registrado e desfeito
+    // antes de somar o novo placar.
+    private void registrarResultado(Partida partida, EditarPartidaDTO dto) {
+        if ("REALIZADA".equals(partida.getStatus())) {
+            classificacaoService.removerResultado(partida);
+        }
+        partida.setPlacarMandante(dto.getPlacarMandante());
+        partida.setPlacarVisitante(dto.getPlacarVisitante());
+        partida.setStatus("REALIZADA");
+        classificacaoService.adicionarResultado(partida);
+    }
+
+    // consultas por id respondem do modelo de leitura; If-None-Match so compara a versao da linha
+    public long getVersaoPartida(Integer id) {
+        return modeloLeituraService.buscarVersaoPartida(id)
+                .orElseThrow(() -> new PartidaNaoEncontradaException("Partida não encontrada"));
+    }
+
     public RetornarPartidaDTO getPartida(Integer id) {
-        Optional<Partida> partida = partidaRepository.findById(id);
+        Optional<RetornarPartidaDTO> partida = modeloLeituraService.buscarPartida(id);
         if (partida.isPresent()) {
-            return RetornarPartidaDTO.getRetornarPartidaDTO(partida.get());
+            return partida.get();
         }
         throw new PartidaNaoEncontradaException("Partida não encontrada");
     }
@@ -2,6 +2,8 @@ package br.insper.loja.time.controller;
 
 import br.insper.loja.common.Erro;
 import br.insper.loja.time.exception.TimeNaoEncontradoException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -13,10 +15,14 @@ import java.time.LocalDateTime;
 @ControllerAdvice
 public class TimeAdvice {
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @ExceptionHandler(TimeNaoEncontradoException.class)
     @ResponseBody
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public Erro timeNaoEncontradoHandler(TimeNaoEncontradoException e) {
+        meterRegistry.counter("excecoes.nao.encontrado", "recurso", "time").increment();
         Erro erro = new Erro();
         erro.setMensagem(e.getMessage());
         erro.setData(LocalDateTime.now());
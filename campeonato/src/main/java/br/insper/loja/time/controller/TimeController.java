@@ -1,11 +1,15 @@
 package br.insper.loja.time.controller;
 
 import br.insper.loja.partida.service.PartidaService;
+import br.insper.loja.time.dto.EstatisticasCacheDTO;
+import br.insper.loja.time.dto.VersaoColecaoDTO;
 import br.insper.loja.time.service.TimeService;
 import br.insper.loja.time.model.Time;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -19,13 +23,32 @@ public class TimeController {
     private PartidaService partidaService;
 
     @GetMapping("/time")
-    public List<Time> getTimes(@RequestParam(required = false) String estado) {
-        return timeService.listarTimes(estado);
+    public ResponseEntity<List<Time>> getTimes(@RequestParam(required = false) String estado, WebRequest request) {
+        VersaoColecaoDTO versao = timeService.getVersaoTimes(estado);
+        String etag = "times-" + versao.getQuantidade() + "-" + versao.getSomaVersoes();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .body(timeService.listarTimes(estado));
     }
 
     @GetMapping("/time/{identificador}")
-    public Time getTime(@PathVariable Integer identificador) {
-        return timeService.getTime(identificador);
+    public ResponseEntity<Time> getTime(@PathVariable Integer identificador, WebRequest request) {
+        Time time = timeService.getTime(identificador);
+        String etag = "time-" + time.getId() + "-" + time.getVersao();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .body(time);
+    }
+
+    @GetMapping("/time/cache/estatisticas")
+    public EstatisticasCacheDTO getEstatisticasCache() {
+        return timeService.getEstatisticasCache();
     }
 
     @PostMapping("/time")
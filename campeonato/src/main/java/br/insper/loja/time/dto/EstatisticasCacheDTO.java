@@ -0,0 +1,71 @@
+package br.insper.loja.time.dto;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+public class EstatisticasCacheDTO {
+    private long tamanho;
+    private long acertos;
+    private long falhas;
+    private double taxaAcerto;
+    private long remocoes;
+    private double tempoMedioCargaMs;
+
+    public static EstatisticasCacheDTO getEstatisticasCacheDTO(long tamanho, CacheStats stats) {
+        EstatisticasCacheDTO dto = new EstatisticasCacheDTO();
+        dto.setTamanho(tamanho);
+        dto.setAcertos(stats.hitCount());
+        dto.setFalhas(stats.missCount());
+        dto.setTaxaAcerto(stats.hitRate());
+        dto.setRemocoes(stats.evictionCount());
+        dto.setTempoMedioCargaMs(stats.averageLoadPenalty() / 1_000_000.0);
+        return dto;
+    }
+
+    public long getTamanho() {
+        return tamanho;
+    }
+
+    public void setTamanho(long tamanho) {
+        this.tamanho = tamanho;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public void setAcertos(long acertos) {
+        this.acertos = acertos;
+    }
+
+    public long getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(long falhas) {
+        this.falhas = falhas;
+    }
+
+    public double getTaxaAcerto() {
+        return taxaAcerto;
+    }
+
+    public void setTaxaAcerto(double taxaAcerto) {
+        this.taxaAcerto = taxaAcerto;
+    }
+
+    public long getRemocoes() {
+        return remocoes;
+    }
+
+    public void setRemocoes(long remocoes) {
+        this.remocoes = remocoes;
+    }
+
+    public double getTempoMedioCargaMs() {
+        return tempoMedioCargaMs;
+    }
+
+    public void setTempoMedioCargaMs(double tempoMedioCargaMs) {
+        this.tempoMedioCargaMs = tempoMedioCargaMs;
+    }
+}
@@ -0,0 +1,19 @@
+package br.insper.loja.time.dto;
+
+public class VersaoColecaoDTO {
+    private long quantidade;
+    private long somaVersoes;
+
+    public VersaoColecaoDTO(Long quantidade, Long somaVersoes) {
+        this.quantidade = quantidade;
+        this.somaVersoes = somaVersoes;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public long getSomaVersoes() {
+        return somaVersoes;
+    }
+}
@@ -1,6 +1,8 @@
 package br.insper.loja.time.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 public class Time {
@@ -14,6 +16,12 @@ public class Time {
     private String estadio;
     private String estado;
 
+    // exposto como ETag, nao no corpo
+    @Version
+    @ColumnDefault("0")
+    @JsonIgnore
+    private long versao;
+
     public Time() {
     }
 
@@ -63,4 +71,12 @@ public class Time {
     public void setEstado(String estado) {
         this.estado = estado;
     }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(long versao) {
+        this.versao = versao;
+    }
 }
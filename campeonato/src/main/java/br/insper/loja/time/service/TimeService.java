@@ -1,36 +1,64 @@
 package br.insper.loja.time.service;
 
+import br.insper.loja.leitura.service.ModeloLeituraService;
+import br.insper.loja.time.dto.EstatisticasCacheDTO;
+import br.insper.loja.time.dto.VersaoColecaoDTO;
 import br.insper.loja.time.exception.TimeNaoEncontradoException;
 import br.insper.loja.time.repository.TimeRepository;
 import br.insper.loja.time.model.Time;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
+@Observed(name = "servico.chamadas")
 public class TimeService {
 
+    public static final String CACHE_TIMES = "times";
+
     @Autowired
     private TimeRepository timeRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ModeloLeituraService modeloLeituraService;
+
+    @CachePut(cacheNames = CACHE_TIMES, key = "#result.id")
     public Time cadastrarTime(Time time) {
         if (time.getNome().equals("")
                 || time.getIdentificador().equals("")) {
             throw  new RuntimeException("Dados invalidos");
         } else {
-            return timeRepository.save(time);
+            Time salvo = timeRepository.save(time);
+            modeloLeituraService.atualizarTime(salvo);
+            return salvo;
         }
     }
 
+    // listagem e ETag saem do modelo de leitura, sem consulta ao banco
     public List<Time> listarTimes(String estado) {
-        if (estado != null) {
-            return timeRepository.findByEstado(estado);
-        }
-        return timeRepository.findAll();
+        return modeloLeituraService.listarTimes(estado);
     }
 
+    public VersaoColecaoDTO getVersaoTimes(String estado) {
+        return modeloLeituraService.buscarVersaoTimes(estado);
+    }
+
+    // sync = true: requisicoes concorrentes pelo mesmo id fazem uma unica carga
+    @Cacheable(cacheNames = CACHE_TIMES, sync = true)
     public Time getTime(Integer id) {
         Optional<Time> op = timeRepository.findById(id);
         if (op.isPresent()) {
@@ -39,4 +67,21 @@ public class TimeService {
         throw new TimeNaoEncontradoException("Time " + id + " não encontrado");
     }
 
-}
\ No newline at end of file
+    // carrega todos os times pedidos com um unico select ... where id in (...)
+    public Map<Integer, Time> getTimes(Collection<Integer> ids) {
+        Map<Integer, Time> times = new HashMap<>();
+        for (Time time : timeRepository.findAllById(ids)) {
+            times.put(time.getId(), time);
+        }
+        return times;
+    }
+
+    public EstatisticasCacheDTO getEstatisticasCache() {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CACHE_TIMES);
+        Cache<Object, Object> nativo = cache.getNativeCache();
+        // aplica remocoes pendentes para que tamanho e contagem de remocoes fiquem exatos
+        nativo.cleanUp();
+        return EstatisticasCacheDTO.getEstatisticasCacheDTO(nativo.estimatedSize(), nativo.stats());
+    }
+
+}
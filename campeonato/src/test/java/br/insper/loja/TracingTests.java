@@ -0,0 +1,80 @@
+package br.insper.loja;
+
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET /time/{id} chegando do aposta com traceparent: controller, service e jdbc entram no trace de quem chamou
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+@Import(TracingTests.ColetorEmMemoria.class)
+class TracingTests {
+
+	private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+	private static final String SPAN_APOSTA = "00f067aa0ba902b7";
+
+	@TestConfiguration
+	static class ColetorEmMemoria {
+
+		@Bean
+		InMemorySpanExporter coletor() {
+			return InMemorySpanExporter.create();
+		}
+	}
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	InMemorySpanExporter coletor;
+
+	@Autowired
+	SdkTracerProvider tracerProvider;
+
+	@Test
+	void testContinuaOTraceDoAposta() throws Exception {
+		mockMvc.perform(get("/time/{id}", 0)
+						.header("traceparent", "00-" + TRACE_ID + "-" + SPAN_APOSTA + "-01"))
+				.andExpect(status().isNotFound());
+
+		tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+		List<SpanData> spans = coletor.getFinishedSpanItems().stream()
+				.filter(span -> span.getTraceId().equals(TRACE_ID))
+				.toList();
+
+		SpanData servidor = buscar(spans, "http get /time/{identificador}");
+		SpanData timeService = buscar(spans, "time-service#get-time");
+		Assertions.assertEquals(SPAN_APOSTA, servidor.getParentSpanId());
+		Assertions.assertEquals(servidor.getSpanId(), timeService.getParentSpanId());
+		// a consulta que o hibernate executou na falta do cache fica abaixo do service: conexao do pool e depois a query
+		SpanData conexao = buscar(spans, "connection");
+		Assertions.assertEquals(timeService.getSpanId(), conexao.getParentSpanId());
+		Assertions.assertEquals(conexao.getSpanId(), buscar(spans, "query").getParentSpanId());
+	}
+
+	private SpanData buscar(List<SpanData> spans, String nome) {
+		return spans.stream()
+				.filter(span -> span.getName().equals(nome))
+				.findFirst()
+				.orElseThrow(() -> new AssertionError("sem span " + nome + " em " + spans.stream().map(SpanData::getName).toList()));
+	}
+
+}
@@ -0,0 +1,99 @@
+package br.insper.loja.benchmark;
+
+import br.insper.loja.LojaApplication;
+import br.insper.loja.leitura.service.ModeloLeituraService;
+import br.insper.loja.partida.dto.PaginaPartidaDTO;
+import br.insper.loja.partida.service.PartidaService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// PartidaService.listarPartidas com o contexto Spring completo. A listagem sai do modelo de leitura em memoria,
+// nao do H2: as linhas entram por jdbc e o modelo e recarregado depois, entao o que se mede e o modelo.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ListarPartidasBenchmark {
+
+    private static final int TIMES = 20;
+    private static final int LOTE_INSERT = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int partidas;
+
+    private ConfigurableApplicationContext contexto;
+
+    private PartidaService partidaService;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // passados como argumentos para prevalecer sobre o application.properties (banco em arquivo)
+        contexto = new SpringApplicationBuilder(LojaApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+
+        JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        for (int i = 1; i <= TIMES; i++) {
+            jdbcTemplate.update("insert into time (id, nome, identificador, estado, versao) values (?, ?, ?, ?, 0)",
+                    i, "Time " + i, "time-" + i, "SP");
+        }
+
+        List<Object[]> linhas = new ArrayList<>(LOTE_INSERT);
+        for (int id = 1; id <= partidas; id++) {
+            boolean realizada = id % 2 == 0;
+            linhas.add(new Object[]{id, id % TIMES + 1, (id + 7) % TIMES + 1,
+                    realizada ? id % 4 : null, realizada ? id % 3 : null, realizada ? "REALIZADA" : "AGENDADA"});
+            if (linhas.size() == LOTE_INSERT || id == partidas) {
+                jdbcTemplate.batchUpdate("insert into partida (id, id_mandante, id_visitante, placar_mandante, "
+                        + "placar_visitante, status, versao) values (?, ?, ?, ?, ?, ?, 0)", linhas);
+                linhas.clear();
+            }
+        }
+        jdbcTemplate.execute("analyze");
+
+        // os inserts acima nao passam pelos services; sem recarga o modelo continuaria vazio
+        contexto.getBean(ModeloLeituraService.class).carregar();
+
+        partidaService = contexto.getBean(PartidaService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public PaginaPartidaDTO primeiraPagina() {
+        return partidaService.listarPartidas(null, null, null, null, 50);
+    }
+
+    @Benchmark
+    public PaginaPartidaDTO filtroMandante() {
+        return partidaService.listarPartidas("time-7", null, null, null, 50);
+    }
+
+    @Benchmark
+    public PaginaPartidaDTO filtroMandanteEStatus() {
+        return partidaService.listarPartidas("time-7", null, "REALIZADA", null, 50);
+    }
+
+    @Benchmark
+    public PaginaPartidaDTO paginaProfunda() {
+        return partidaService.listarPartidas(null, null, null, partidas - 100, 50);
+    }
+
+}
@@ -0,0 +1,72 @@
+package br.insper.loja.benchmark;
+
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import br.insper.loja.partida.model.Partida;
+import br.insper.loja.time.model.Time;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RetornarPartidaDTOBenchmark {
+
+    @Param({"100", "10000"})
+    public int tamanho;
+
+    private List<Partida> partidas;
+
+    private List<RetornarPartidaDTO> dtos;
+
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void preparar() {
+        List<Time> times = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            Time time = new Time("Time " + i, "time-" + i, "Estadio " + i, "SP");
+            time.setId(i);
+            times.add(time);
+        }
+
+        partidas = new ArrayList<>();
+        dtos = new ArrayList<>();
+        for (int i = 0; i < tamanho; i++) {
+            Partida partida = new Partida();
+            partida.setId(i + 1);
+            partida.setMandante(times.get(i % 20));
+            partida.setVisitante(times.get((i + 7) % 20));
+            partida.setPlacarMandante(i % 4);
+            partida.setPlacarVisitante(i % 3);
+            partida.setStatus(i % 2 == 0 ? "REALIZADA" : "AGENDADA");
+            partidas.add(partida);
+            dtos.add(RetornarPartidaDTO.getRetornarPartidaDTO(partida));
+        }
+
+        // mesma configuracao base do ObjectMapper do Spring Boot
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public void mapearParaDTO(Blackhole blackhole) {
+        for (Partida partida : partidas) {
+            blackhole.consume(RetornarPartidaDTO.getRetornarPartidaDTO(partida));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarLista() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+}
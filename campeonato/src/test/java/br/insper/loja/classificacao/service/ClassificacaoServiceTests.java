@@ -0,0 +1,186 @@
+package br.insper.loja.classificacao.service;
+
+import br.insper.loja.classificacao.dto.VerificacaoClassificacaoDTO;
+import br.insper.loja.classificacao.model.Classificacao;
+import br.insper.loja.classificacao.repository.ClassificacaoRepository;
+import br.insper.loja.partida.model.Partida;
+import br.insper.loja.partida.repository.PartidaRepository;
+import br.insper.loja.time.model.Time;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@ExtendWith(MockitoExtension.class)
+public class ClassificacaoServiceTests {
+
+    @InjectMocks
+    private ClassificacaoService classificacaoService;
+
+    @Mock
+    private ClassificacaoRepository classificacaoRepository;
+
+    @Mock
+    private PartidaRepository partidaRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private Time time1;
+
+    private Time time2;
+
+    @BeforeEach
+    public void preparar() {
+        time1 = new Time("Time 1", "time-1", null, null);
+        time1.setId(1);
+        time2 = new Time("Time 2", "time-2", null, null);
+        time2.setId(2);
+    }
+
+    private Partida novaPartida(Integer placarMandante, Integer placarVisitante) {
+        Partida partida = new Partida();
+        partida.setMandante(time1);
+        partida.setVisitante(time2);
+        partida.setPlacarMandante(placarMandante);
+        partida.setPlacarVisitante(placarVisitante);
+        partida.setStatus("REALIZADA");
+        return partida;
+    }
+
+    @Test
+    public void testAdicionarResultadoCriaLinhas() {
+        // Preparação
+        Classificacao linha1 = new Classificacao(1, "Time 1");
+        Classificacao linha2 = new Classificacao(2, "Time 2");
+        Mockito.when(classificacaoRepository.buscarParaAtualizar(1)).thenReturn(Optional.empty(), Optional.of(linha1));
+        Mockito.when(classificacaoRepository.buscarParaAtualizar(2)).thenReturn(Optional.empty(), Optional.of(linha2));
+
+        // Execução
+        classificacaoService.adicionarResultado(novaPartida(2, 1));
+
+        // Verificação
+        Mockito.verify(jdbcTemplate).update(Mockito.startsWith("insert into classificacao"), Mockito.eq(1), Mockito.eq("Time 1"));
+        Mockito.verify(jdbcTemplate).update(Mockito.startsWith("insert into classificacao"), Mockito.eq(2), Mockito.eq("Time 2"));
+        Mockito.verify(classificacaoRepository, Mockito.never()).save(Mockito.any());
+        Assertions.assertEquals(3, linha1.getPontos());
+        Assertions.assertEquals(1, linha2.getDerrotas());
+    }
+
+    @Test
+    public void testAdicionarResultadoComLinhaCriadaPorOutraTransacao() {
+        // Preparação
+        Classificacao linha1 = new Classificacao(1, "Time 1");
+        Classificacao linha2 = new Classificacao(2, "Time 2");
+        Mockito.when(classificacaoRepository.buscarParaAtualizar(1)).thenReturn(Optional.empty(), Optional.of(linha1));
+        Mockito.when(classificacaoRepository.buscarParaAtualizar(2)).thenReturn(Optional.of(linha2));
+        Mockito.when(jdbcTemplate.update(Mockito.anyString(), Mockito.eq(1), Mockito.eq("Time 1")))
+                .thenThrow(new DuplicateKeyException("chave duplicada"));
+
+        // Execução
+        classificacaoService.adicionarResultado(novaPartida(1, 1));
+
+        // Verificação
+        Assertions.assertEquals(1, linha1.getEmpates());
+        Assertions.assertEquals(1, linha2.getEmpates());
+    }
+
+    @Test
+    public void testTravaLinhasEmOrdemDeId() {
+        // Preparação
+        Partida partida = novaPartida(0, 2);
+        partida.setMandante(time2);
+        partida.setVisitante(time1);
+        Classificacao linha1 = new Classificacao(1, "Time 1");
+        Classificacao linha2 = new Classificacao(2, "Time 2");
+        Mockito.when(classificacaoRepository.buscarParaAtualizar(1)).thenReturn(Optional.of(linha1));
+        Mockito.when(classificacaoRepository.buscarParaAtualizar(2)).thenReturn(Optional.of(linha2));
+
+        // Execução
+        classificacaoService.adicionarResultado(partida);
+
+        // Verificação
+        InOrder ordem = Mockito.inOrder(classificacaoRepository);
+        ordem.verify(classificacaoRepository).buscarParaAtualizar(1);
+        ordem.verify(classificacaoRepository).buscarParaAtualizar(2);
+        Assertions.assertEquals(3, linha1.getPontos());
+        Assertions.assertEquals(1, linha2.getDerrotas());
+    }
+
+    @Test
+    public void testEditarResultadoJaRegistrado() {
+        // Preparação
+        Classificacao linha1 = new Classificacao(1, "Time 1");
+        Classificacao linha2 = new Classificacao(2, "Time 2");
+        Mockito.when(classificacaoRepository.buscarParaAtualizar(1)).thenReturn(Optional.of(linha1));
+        Mockito.when(classificacaoRepository.buscarParaAtualizar(2)).thenReturn(Optional.of(linha2));
+
+        // Execução: 2x1 registrado e depois corrigido para 1x1
+        classificacaoService.adicionarResultado(novaPartida(2, 1));
+        classificacaoService.removerResultado(novaPartida(2, 1));
+        classificacaoService.adicionarResultado(novaPartida(1, 1));
+
+        // Verificação
+        Assertions.assertEquals(1, linha1.getPontos());
+        Assertions.assertEquals(0, linha1.getVitorias());
+        Assertions.assertEquals(1, linha1.getEmpates());
+        Assertions.assertEquals(1, linha1.getJogos());
+        Assertions.assertEquals(1, linha2.getPontos());
+        Assertions.assertEquals(0, linha2.getDerrotas());
+        Assertions.assertEquals(1, linha2.getGolsPro());
+        Assertions.assertEquals(0, linha2.getSaldoGols());
+    }
+
+    @Test
+    public void testRecalcularCorrigeDivergencias() {
+        // Preparação
+        Classificacao correta = new Classificacao(1, "Time 1");
+        correta.registrar(3, 0, 1);
+        Classificacao errada = new Classificacao(2, "Time 2");
+        Classificacao orfa = new Classificacao(3, "Time 3");
+        orfa.registrar(1, 0, 1);
+
+        Mockito.when(partidaRepository.streamRealizadas()).thenReturn(Stream.of(novaPartida(3, 0)));
+        Mockito.when(classificacaoRepository.findAll()).thenReturn(List.of(correta, errada, orfa));
+
+        // Execução
+        VerificacaoClassificacaoDTO verificacao = classificacaoService.recalcular();
+
+        // Verificação
+        Assertions.assertFalse(verificacao.isConsistente());
+        Assertions.assertEquals(List.of(2, 3), verificacao.getTimesDivergentes());
+        Assertions.assertEquals(1, errada.getDerrotas());
+        Assertions.assertEquals(-3, errada.getSaldoGols());
+        Mockito.verify(classificacaoRepository).delete(orfa);
+    }
+
+    @Test
+    public void testRecalcularSemDivergencias() {
+        // Preparação
+        Classificacao linha1 = new Classificacao(1, "Time 1");
+        linha1.registrar(1, 1, 1);
+        Classificacao linha2 = new Classificacao(2, "Time 2");
+        linha2.registrar(1, 1, 1);
+
+        Mockito.when(partidaRepository.streamRealizadas()).thenReturn(Stream.of(novaPartida(1, 1)));
+        Mockito.when(classificacaoRepository.findAll()).thenReturn(List.of(linha1, linha2));
+
+        // Execução
+        VerificacaoClassificacaoDTO verificacao = classificacaoService.recalcular();
+
+        // Verificação
+        Assertions.assertTrue(verificacao.isConsistente());
+        Assertions.assertEquals(2, verificacao.getTimes());
+    }
+}
@@ -0,0 +1,123 @@
+package br.insper.loja.common;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// a api pelo mockmvc; o actuator so existe na porta de gerencia, que precisa de servidor de verdade
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@AutoConfigureMockMvc
+public class ConsistenciaEndpointTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalManagementPort
+    private int portaGerencia;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Integer cadastrarTime(String identificador, String estado) throws Exception {
+        String corpo = mockMvc.perform(post("/time")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\": \"Time " + identificador + "\", \"identificador\": \"" + identificador
+                                + "\", \"estadio\": \"Estadio\", \"estado\": \"" + estado + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(corpo, "$.id");
+    }
+
+    private DocumentContext consistencia(HttpMethod metodo) {
+        HttpHeaders cabecalhos = new HttpHeaders();
+        cabecalhos.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<String> resposta = restTemplate.exchange("http://127.0.0.1:" + portaGerencia
+                + "/actuator/consistencia", metodo, new HttpEntity<>(cabecalhos), String.class);
+        Assertions.assertEquals(HttpStatus.OK, resposta.getStatusCode());
+        return JsonPath.parse(resposta.getBody());
+    }
+
+    @Test
+    public void testEscritasAparecemNasLeiturasEVerificacaoAchaDivergencia() throws Exception {
+        // o banco de arquivo e compartilhado com as outras classes de teste: parte do estado atual dele
+        Assertions.assertTrue(consistencia(HttpMethod.POST).read("$.consistente", Boolean.class));
+        // a recarga nao existe na porta da api
+        Assertions.assertTrue(restTemplate.postForEntity("/actuator/consistencia", null, String.class)
+                .getStatusCode().is4xxClientError());
+
+        String sufixo = Long.toString(System.nanoTime(), 36);
+        String estado = "E" + sufixo;
+        Integer mandante = cadastrarTime("mandante-" + sufixo, estado);
+        Integer visitante = cadastrarTime("visitante-" + sufixo, estado);
+
+        String corpo = mockMvc.perform(post("/partida")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"mandante\": " + mandante + ", \"visitante\": " + visitante + "}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Integer idPartida = JsonPath.read(corpo, "$.id");
+
+        mockMvc.perform(get("/time").param("estado", estado))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"times-2-0\""))
+                .andExpect(jsonPath("$.length()").value(2));
+        mockMvc.perform(get("/partida").param("mandante", "mandante-" + sufixo))
+                .andExpect(jsonPath("$.partidas[0].id").value(idPartida))
+                .andExpect(jsonPath("$.partidas[0].nomeVisitante").value("Time visitante-" + sufixo))
+                .andExpect(jsonPath("$.partidas[0].status").value("AGENDADA"));
+
+        // o update so chega ao modelo depois do commit, com a versao incrementada pelo flush
+        mockMvc.perform(post("/partida/{id}", idPartida)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"placarMandante\": 2, \"placarVisitante\": 1}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/partida/{id}", idPartida))
+                .andExpect(header().string("ETag", "\"partida-" + idPartida + "-1\""))
+                .andExpect(jsonPath("$.status").value("REALIZADA"))
+                .andExpect(jsonPath("$.placarMandante").value(2));
+        mockMvc.perform(get("/partida").param("visitante", "visitante-" + sufixo).param("status", "AGENDADA"))
+                .andExpect(jsonPath("$.partidas.length()").value(0));
+
+        DocumentContext relatorio = consistencia(HttpMethod.GET);
+        Assertions.assertTrue(relatorio.read("$.consistente", Boolean.class));
+        Assertions.assertTrue(relatorio.read("$.partidas", Integer.class) >= 1);
+
+        // escrita por fora dos services: so a verificacao percebe
+        jdbcTemplate.update("update partida set placar_mandante = 5 where id = ?", idPartida);
+
+        relatorio = consistencia(HttpMethod.GET);
+        Assertions.assertFalse(relatorio.read("$.consistente", Boolean.class));
+        Assertions.assertEquals(1, relatorio.read("$.totalDivergencias", Integer.class));
+        Assertions.assertEquals("DIFERENTE", relatorio.read("$.divergencias[0].tipo", String.class));
+        Assertions.assertEquals("partida", relatorio.read("$.divergencias[0].entidade", String.class));
+        Assertions.assertEquals(idPartida, relatorio.read("$.divergencias[0].id", Integer.class));
+
+        Assertions.assertTrue(consistencia(HttpMethod.POST).read("$.consistente", Boolean.class));
+        mockMvc.perform(get("/partida/{id}", idPartida))
+                .andExpect(jsonPath("$.placarMandante").value(5));
+    }
+
+}
@@ -0,0 +1,74 @@
+package br.insper.loja.common;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// limite zero: todo sql conta como lento e vai para o log.
+// o actuator so existe na porta de gerencia, que precisa de servidor de verdade
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"diagnostico.consulta-lenta-ms=0", "management.server.port=0"})
+@AutoConfigureMockMvc
+@ActiveProfiles("diagnostico")
+@ExtendWith(OutputCaptureExtension.class)
+public class ConsultasEndpointTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalManagementPort
+    private int portaGerencia;
+
+    private DocumentContext consultas(int top) {
+        ResponseEntity<String> resposta = restTemplate.getForEntity(
+                "http://127.0.0.1:" + portaGerencia + "/actuator/consultas?top=" + top, String.class);
+        Assertions.assertEquals(HttpStatus.OK, resposta.getStatusCode());
+        return JsonPath.parse(resposta.getBody());
+    }
+
+    @Test
+    public void testRankingELogDeConsultasLentas(CapturedOutput saida) throws Exception {
+        // listagens saem do modelo de leitura; o lote de resultados ainda consulta o banco
+        mockMvc.perform(post("/partida/resultados")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\": 987654321, \"placarMandante\": 1, \"placarVisitante\": 0}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.erros.length()").value(1));
+
+        DocumentContext ranking = consultas(50);
+        Assertions.assertTrue(ranking.read("$.consultas", Integer.class) > 0);
+        MatcherAssert.assertThat(ranking.read("$.ranking[?(@.consulta =~ /.*p.id in :ids.*/)].execucoes"),
+                Matchers.hasItem(Matchers.greaterThanOrEqualTo(1)));
+        Assertions.assertInstanceOf(Number.class, ranking.read("$.ranking[0].tempoTotalMs"));
+
+        Assertions.assertEquals(1, consultas(1).read("$.ranking.length()", Integer.class));
+
+        // sql com o valor do parametro de bind
+        Assertions.assertTrue(saida.getOut().contains("Consulta lenta"));
+        Assertions.assertTrue(saida.getOut().contains("987654321"));
+    }
+
+}
@@ -0,0 +1,60 @@
+package br.insper.loja.common;
+
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+
+public class GravacaoJfrEndpointTests {
+
+    @TempDir
+    Path diretorio;
+
+    GravacaoJfrEndpoint gravacaoJfrEndpoint;
+
+    @BeforeEach
+    public void preparar() {
+        gravacaoJfrEndpoint = new GravacaoJfrEndpoint();
+        ReflectionTestUtils.setField(gravacaoJfrEndpoint, "maxIdade", 10L);
+        ReflectionTestUtils.setField(gravacaoJfrEndpoint, "maxTamanho", 10L);
+        ReflectionTestUtils.setField(gravacaoJfrEndpoint, "diretorio", diretorio.toString());
+    }
+
+    @AfterEach
+    public void encerrar() {
+        gravacaoJfrEndpoint.destroy();
+    }
+
+    @Test
+    public void testIniciarEPararGravaArquivo() throws Exception {
+        // Execução
+        EstadoGravacaoDTO iniciada = gravacaoJfrEndpoint.iniciar();
+        // iniciar de novo nao abre uma segunda gravacao
+        EstadoGravacaoDTO repetida = gravacaoJfrEndpoint.iniciar();
+        EstadoGravacaoDTO parada = gravacaoJfrEndpoint.parar();
+
+        // Verificação
+        Assertions.assertTrue(iniciada.isAtiva());
+        Assertions.assertEquals(iniciada.getInicio(), repetida.getInicio());
+        Assertions.assertFalse(parada.isAtiva());
+        Assertions.assertFalse(gravacaoJfrEndpoint.estado().isAtiva());
+        try (RecordingFile arquivo = new RecordingFile(Path.of(parada.getArquivo()))) {
+            Assertions.assertTrue(arquivo.hasMoreEvents());
+        }
+    }
+
+    @Test
+    public void testPararSemGravacao() throws Exception {
+        // Execução
+        EstadoGravacaoDTO estado = gravacaoJfrEndpoint.parar();
+
+        // Verificação
+        Assertions.assertFalse(estado.isAtiva());
+        Assertions.assertNull(estado.getArquivo());
+    }
+}
@@ -0,0 +1,69 @@
+package br.insper.loja.common;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// servidor de verdade para a porta de gerencia subir; a api continua sendo chamada pelo mockmvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+public class MetricasConfigTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalManagementPort
+    private int portaGerencia;
+
+    private String gerencia(String caminho) {
+        return "http://127.0.0.1:" + portaGerencia + caminho;
+    }
+
+    @Test
+    public void testPrometheusExpoeServicosHttpEPool() throws Exception {
+        mockMvc.perform(get("/time"))
+                .andExpect(status().isOk());
+
+        ResponseEntity<String> resposta = restTemplate.getForEntity(gerencia("/actuator/prometheus"), String.class);
+        Assertions.assertEquals(HttpStatus.OK, resposta.getStatusCode());
+        String metricas = resposta.getBody();
+
+        // histograma do @Timed no service chamado pelo controller
+        Assertions.assertTrue(metricas.contains(
+                "servico_chamadas_seconds_bucket{class=\"br.insper.loja.time.service.TimeService\""));
+        // bucket de slo por endpoint
+        Assertions.assertTrue(metricas.matches(
+                "(?s).*http_server_requests_seconds_bucket\\{[^}]*uri=\"/time\"[^}]*le=\"0\\.1\",?}.*"));
+        Assertions.assertTrue(metricas.contains("hikaricp_connections_active"));
+        Assertions.assertTrue(metricas.contains("cache_gets_total{cache=\"times\""));
+    }
+
+    @Test
+    public void testActuatorSoNaPortaDeGerencia() {
+        // na porta da api o post cai no handler de recursos estaticos (405), nunca no endpoint
+        Assertions.assertTrue(restTemplate.postForEntity("/actuator/jfr", null, String.class)
+                .getStatusCode().is4xxClientError());
+        Assertions.assertEquals(HttpStatus.NOT_FOUND,
+                restTemplate.getForEntity("/actuator/prometheus", String.class).getStatusCode());
+
+        ResponseEntity<String> jfr = restTemplate.getForEntity(gerencia("/actuator/jfr"), String.class);
+        Assertions.assertEquals(HttpStatus.OK, jfr.getStatusCode());
+        Assertions.assertTrue(jfr.getBody().contains("\"ativa\":false"));
+    }
+
+}
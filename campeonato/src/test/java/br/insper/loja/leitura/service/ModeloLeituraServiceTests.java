@@ -0,0 +1,180 @@
+package br.insper.loja.leitura.service;
+
+import br.insper.loja.leitura.model.PaginaLeitura;
+import br.insper.loja.leitura.model.PartidaLeitura;
+import br.insper.loja.leitura.model.TimeLeitura;
+import br.insper.loja.leitura.repository.LeituraRepository;
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import br.insper.loja.partida.model.Partida;
+import br.insper.loja.time.dto.VersaoColecaoDTO;
+import br.insper.loja.time.model.Time;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@ExtendWith(MockitoExtension.class)
+public class ModeloLeituraServiceTests {
+
+    @InjectMocks
+    private ModeloLeituraService modeloLeituraService;
+
+    @Mock
+    private LeituraRepository leituraRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void carregar() {
+        Mockito.when(leituraRepository.streamTimes()).thenReturn(Stream.of(
+                new TimeLeitura(1, "Time 1", "time-1", "Estadio 1", "SP", 0),
+                new TimeLeitura(2, "Time 2", "time-2", "Estadio 2", "RJ", 0),
+                new TimeLeitura(3, "Time 3", "time-3", "Estadio 3", "SP", 2)));
+        Mockito.when(leituraRepository.streamPartidas()).thenReturn(Stream.of(
+                new PartidaLeitura(10, 1, 2, null, null, "AGENDADA", 0),
+                new PartidaLeitura(11, 2, 1, 1, 0, "REALIZADA", 1),
+                new PartidaLeitura(12, 1, 3, null, null, "AGENDADA", 0),
+                new PartidaLeitura(13, 3, 2, null, null, "AGENDADA", 0)));
+        modeloLeituraService.carregar();
+    }
+
+    private Partida novaPartida(Integer id, Integer mandante, Integer visitante, String status, long versao) {
+        Time timeMandante = new Time();
+        timeMandante.setId(mandante);
+        Time timeVisitante = new Time();
+        timeVisitante.setId(visitante);
+
+        Partida partida = new Partida();
+        partida.setId(id);
+        partida.setMandante(timeMandante);
+        partida.setVisitante(timeVisitante);
+        partida.setStatus(status);
+        partida.setVersao(versao);
+        return partida;
+    }
+
+    @Test
+    public void testBuscarPaginaFiltraPorIdentificadorEStatus() {
+        // Execução
+        PaginaLeitura pagina = modeloLeituraService.buscarPagina("time-1", null, "AGENDADA", null, 10);
+        List<RetornarPartidaDTO> partidas = pagina.partidas();
+
+        // Verificação
+        Assertions.assertEquals(List.of(10, 12), partidas.stream().map(RetornarPartidaDTO::getId).toList());
+        Assertions.assertEquals(2, pagina.candidatosLidos());
+        Assertions.assertEquals("Time 1", partidas.get(0).getNomeMandante());
+        Assertions.assertEquals("Time 3", partidas.get(1).getNomeVisitante());
+    }
+
+    @Test
+    public void testBuscarPaginaComCursorELimite() {
+        // Execução
+        List<RetornarPartidaDTO> primeira = modeloLeituraService.buscarPagina(null, null, "AGENDADA", null, 2).partidas();
+        List<RetornarPartidaDTO> segunda = modeloLeituraService.buscarPagina(null, null, "AGENDADA", 12, 2).partidas();
+
+        // Verificação
+        Assertions.assertEquals(List.of(10, 12), primeira.stream().map(RetornarPartidaDTO::getId).toList());
+        Assertions.assertEquals(List.of(13), segunda.stream().map(RetornarPartidaDTO::getId).toList());
+    }
+
+    @Test
+    public void testBuscarPaginaContaCandidatosDescartados() {
+        // Execução: time-1 so e visitante na partida 11, ja realizada; o candidato e lido e descartado pelo status
+        PaginaLeitura pagina = modeloLeituraService.buscarPagina(null, "time-1", "AGENDADA", null, 10);
+
+        // Verificação
+        Assertions.assertTrue(pagina.partidas().isEmpty());
+        Assertions.assertEquals(1, pagina.candidatosLidos());
+    }
+
+    @Test
+    public void testBuscarPaginaComTimeInexistente() {
+        // Execução e Verificação
+        Assertions.assertTrue(modeloLeituraService.buscarPagina(null, "time-9", null, null, 10).partidas().isEmpty());
+    }
+
+    @Test
+    public void testListarTimesEVersaoPorEstado() {
+        // Execução
+        List<Time> times = modeloLeituraService.listarTimes("SP");
+        VersaoColecaoDTO versao = modeloLeituraService.buscarVersaoTimes("SP");
+
+        // Verificação
+        Assertions.assertEquals(List.of("time-1", "time-3"), times.stream().map(Time::getIdentificador).toList());
+        Assertions.assertEquals(2, versao.getQuantidade());
+        Assertions.assertEquals(2, versao.getSomaVersoes());
+        Assertions.assertEquals(3, modeloLeituraService.listarTimes(null).size());
+    }
+
+    @Test
+    public void testAtualizarPartidaForaDeTransacaoMoveEntreIndices() {
+        // Execução
+        Partida partida = novaPartida(10, 1, 2, "REALIZADA", 1);
+        partida.setPlacarMandante(2);
+        partida.setPlacarVisitante(2);
+        modeloLeituraService.atualizarPartida(partida);
+
+        // Verificação
+        Assertions.assertEquals(List.of(12, 13), modeloLeituraService.buscarPagina(null, null, "AGENDADA", null, 10)
+                .partidas().stream().map(RetornarPartidaDTO::getId).toList());
+        Assertions.assertEquals("REALIZADA", modeloLeituraService.buscarPartida(10).get().getStatus());
+        Assertions.assertEquals(1L, modeloLeituraService.buscarVersaoPartida(10).get());
+        Assertions.assertTrue(modeloLeituraService.verificarIndices().isEmpty());
+    }
+
+    @Test
+    public void testAtualizarPartidaIgnoraVersaoAntiga() {
+        // Execução
+        modeloLeituraService.atualizarPartida(novaPartida(11, 2, 1, "AGENDADA", 0));
+
+        // Verificação
+        Assertions.assertEquals("REALIZADA", modeloLeituraService.buscarPartida(11).get().getStatus());
+    }
+
+    @Test
+    public void testAtualizarPartidaEmTransacaoSoAplicaNoCommit() {
+        // Preparação
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Execução
+            modeloLeituraService.atualizarPartida(novaPartida(20, 1, 2, "AGENDADA", 0));
+            Assertions.assertTrue(modeloLeituraService.buscarPartida(20).isEmpty());
+            for (TransactionSynchronization sincronizacao : TransactionSynchronizationManager.getSynchronizations()) {
+                sincronizacao.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Verificação
+        Assertions.assertEquals("Time 1", modeloLeituraService.buscarPartida(20).get().getNomeMandante());
+        Assertions.assertEquals(20, modeloLeituraService.buscarPagina("time-1", "time-2", null, 10, 10).partidas().get(0).getId());
+    }
+
+    @Test
+    public void testAtualizarTimeTrocaEstado() {
+        // Preparação
+        Time time = new Time("Time 2", "time-2", "Estadio 2", "SP");
+        time.setId(2);
+        time.setVersao(1);
+
+        // Execução
+        modeloLeituraService.atualizarTime(time);
+
+        // Verificação
+        Assertions.assertTrue(modeloLeituraService.listarTimes("RJ").isEmpty());
+        Assertions.assertEquals(3, modeloLeituraService.listarTimes("SP").size());
+        Assertions.assertTrue(modeloLeituraService.verificarIndices().isEmpty());
+    }
+}
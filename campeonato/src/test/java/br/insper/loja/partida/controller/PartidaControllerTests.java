@@ -0,0 +1,82 @@
+package br.insper.loja.partida.controller;
+
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import br.insper.loja.partida.exception.PartidaNaoEncontradaException;
+import br.insper.loja.partida.service.EventoPartidaService;
+import br.insper.loja.partida.service.PartidaService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PartidaController.class)
+// os advices contam as respostas 404
+@Import(SimpleMeterRegistry.class)
+public class PartidaControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private PartidaService partidaService;
+
+    @MockBean
+    private EventoPartidaService eventoPartidaService;
+
+    @Test
+    public void testGetPartidaEnviaEtag() throws Exception {
+        Mockito.when(partidaService.getVersaoPartida(1)).thenReturn(3L);
+        Mockito.when(partidaService.getPartida(1))
+                .thenReturn(new RetornarPartidaDTO(1, "Time 1", "Time 2", 1, 0, "REALIZADA"));
+
+        mockMvc.perform(get("/partida/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"partida-1-3\""))
+                .andExpect(jsonPath("$.nomeMandante").value("Time 1"));
+    }
+
+    @Test
+    public void testGetPartidaNaoModificadaNaoMontaCorpo() throws Exception {
+        Mockito.when(partidaService.getVersaoPartida(1)).thenReturn(3L);
+
+        mockMvc.perform(get("/partida/1").header("If-None-Match", "\"partida-1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        Mockito.verify(partidaService, Mockito.never()).getPartida(1);
+    }
+
+    @Test
+    public void testGetPartidaComVersaoAntiga() throws Exception {
+        Mockito.when(partidaService.getVersaoPartida(1)).thenReturn(4L);
+        Mockito.when(partidaService.getPartida(1))
+                .thenReturn(new RetornarPartidaDTO(1, "Time 1", "Time 2", 2, 0, "REALIZADA"));
+
+        mockMvc.perform(get("/partida/1").header("If-None-Match", "\"partida-1-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"partida-1-4\""));
+    }
+
+    @Test
+    public void testGetPartidaNaoEncontrada() throws Exception {
+        Mockito.when(partidaService.getVersaoPartida(1))
+                .thenThrow(new PartidaNaoEncontradaException("Partida não encontrada"));
+
+        mockMvc.perform(get("/partida/1"))
+                .andExpect(status().isNotFound());
+
+        Assertions.assertEquals(1, meterRegistry.counter("excecoes.nao.encontrado", "recurso", "partida").count());
+    }
+}
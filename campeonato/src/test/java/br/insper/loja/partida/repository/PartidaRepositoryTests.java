@@ -0,0 +1,114 @@
+package br.insper.loja.partida.repository;
+
+import br.insper.loja.partida.dto.RetornarPartidaDTO;
+import br.insper.loja.partida.model.Partida;
+import br.insper.loja.time.model.Time;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class PartidaRepositoryTests {
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Integer primeiraPartida;
+
+    private Integer idTime1;
+
+    private Integer idTime2;
+
+    @BeforeEach
+    public void preparar() {
+        Time time1 = entityManager.persist(new Time("Time 1", "time-1", "Estadio 1", "SP"));
+        Time time2 = entityManager.persist(new Time("Time 2", "time-2", "Estadio 2", "RJ"));
+        Time time3 = entityManager.persist(new Time("Time 3", "time-3", "Estadio 3", "MG"));
+        idTime1 = time1.getId();
+        idTime2 = time2.getId();
+
+        primeiraPartida = entityManager.persist(novaPartida(time1, time2, "AGENDADA")).getId();
+        entityManager.persist(novaPartida(time1, time3, "REALIZADA"));
+        entityManager.persist(novaPartida(time2, time3, "AGENDADA"));
+        entityManager.persist(novaPartida(time3, time1, "AGENDADA"));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private Partida novaPartida(Time mandante, Time visitante, String status) {
+        Partida partida = new Partida();
+        partida.setMandante(mandante);
+        partida.setVisitante(visitante);
+        partida.setStatus(status);
+        return partida;
+    }
+
+    @Test
+    public void testStreamPartidasNaoCarregaEntidades() {
+        try (Stream<RetornarPartidaDTO> partidas = partidaRepository.streamPartidas()) {
+            Assertions.assertEquals(4, partidas.count());
+        }
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void testSaveAllInsereEmLote() {
+        Time mandante = entityManager.find(Time.class, idTime1);
+        Time visitante = entityManager.find(Time.class, idTime2);
+        statistics.clear();
+
+        List<Partida> partidas = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            partidas.add(novaPartida(mandante, visitante, "AGENDADA"));
+        }
+        partidaRepository.saveAll(partidas);
+        entityManager.flush();
+
+        // um insert preparado para o lote inteiro, mais no maximo uma chamada a sequence
+        Assertions.assertEquals(20, statistics.getEntityInsertCount());
+        Assertions.assertTrue(statistics.getPrepareStatementCount() <= 2);
+    }
+
+    @Test
+    public void testBuscarComTimesEAtualizaEmLote() {
+        List<Partida> partidas = partidaRepository.buscarComTimes(Set.of(primeiraPartida, primeiraPartida + 2, -1));
+
+        Assertions.assertEquals(2, partidas.size());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+
+        for (Partida partida : partidas) {
+            partida.setPlacarMandante(1);
+            partida.setPlacarVisitante(0);
+            partida.setStatus("REALIZADA");
+        }
+        entityManager.flush();
+
+        Assertions.assertEquals(2, statistics.getEntityUpdateCount());
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,81 @@
+package br.insper.loja.partida.service;
+
+import br.insper.loja.partida.dto.LoteEventosDTO;
+import br.insper.loja.partida.dto.SalvarPartidaDTO;
+import br.insper.loja.partida.model.EventoPartida;
+import br.insper.loja.time.model.Time;
+import br.insper.loja.time.service.TimeService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// numeracao do feed no banco de verdade: commits concorrentes recebem sequencias seguidas, sem buraco
+@SpringBootTest
+public class EventoPartidaFeedTests {
+
+    @Autowired
+    private EventoPartidaService eventoPartidaService;
+
+    @Autowired
+    private PartidaService partidaService;
+
+    @Autowired
+    private TimeService timeService;
+
+    private Time cadastrarTime(String identificador) {
+        Time time = new Time();
+        time.setNome("Time " + identificador);
+        time.setIdentificador(identificador);
+        time.setEstadio("Estadio");
+        time.setEstado("SP");
+        return timeService.cadastrarTime(time);
+    }
+
+    @Test
+    public void testCommitsConcorrentesRecebemSequenciasSeguidas() throws Exception {
+        // Preparação
+        String sufixo = Long.toString(System.nanoTime(), 36);
+        SalvarPartidaDTO partida = new SalvarPartidaDTO();
+        partida.setMandante(cadastrarTime("feed-mandante-" + sufixo).getId());
+        partida.setVisitante(cadastrarTime("feed-visitante-" + sufixo).getId());
+
+        // o banco de arquivo e compartilhado com as outras classes de teste: parte do cursor atual
+        long cursor = 0;
+        for (LoteEventosDTO lote = eventoPartidaService.buscarEventos(0, 1000); !lote.getEventos().isEmpty();
+             lote = eventoPartidaService.buscarEventos(cursor, 1000)) {
+            cursor = lote.getCursor();
+        }
+
+        // Execução
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> cadastros = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                cadastros.add(executor.submit(() -> partidaService.cadastrarPartida(partida)));
+            }
+            for (Future<?> cadastro : cadastros) {
+                cadastro.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Verificação
+        LoteEventosDTO lote = eventoPartidaService.buscarEventos(cursor, 1000);
+        Assertions.assertEquals(40, lote.getEventos().size());
+        for (int i = 0; i < 40; i++) {
+            EventoPartida evento = lote.getEventos().get(i);
+            Assertions.assertEquals(cursor + i + 1, evento.getSequencia());
+            Assertions.assertEquals("CADASTRADA", evento.getTipo());
+        }
+        Assertions.assertEquals(cursor + 40, lote.getCursor());
+    }
+
+}
@@ -0,0 +1,224 @@
+package br.insper.loja.partida.service;
+
+import br.insper.loja.partida.dto.LoteEventosDTO;
+import br.insper.loja.partida.model.EventoPartida;
+import br.insper.loja.partida.model.Partida;
+import br.insper.loja.partida.model.SequenciaEvento;
+import br.insper.loja.partida.repository.EventoPartidaRepository;
+import br.insper.loja.partida.repository.SequenciaEventoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+public class EventoPartidaServiceTests {
+
+    @InjectMocks
+    private EventoPartidaService eventoPartidaService;
+
+    @Mock
+    private EventoPartidaRepository eventoPartidaRepository;
+
+    @Mock
+    private SequenciaEventoRepository sequenciaEventoRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @AfterEach
+    public void limpar() {
+        eventoPartidaService.encerrar();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private EventoPartida novoEvento(Long id) {
+        EventoPartida evento = new EventoPartida();
+        evento.setId(id);
+        evento.setSequencia(id);
+        evento.setIdPartida(1);
+        evento.setTipo("RESULTADO");
+        return evento;
+    }
+
+    private SequenciaEvento novaSequencia(Long ultimo) {
+        SequenciaEvento sequencia = new SequenciaEvento();
+        sequencia.setId(SequenciaEvento.ID);
+        sequencia.setUltimo(ultimo);
+        return sequencia;
+    }
+
+    private void concluirTransacao() {
+        List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization sincronizacao : sincronizacoes) {
+            sincronizacao.beforeCommit(false);
+        }
+        for (TransactionSynchronization sincronizacao : sincronizacoes) {
+            sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+    }
+
+    private LoteEventosDTO aguardarResultado(DeferredResult<LoteEventosDTO> resultado) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!resultado.hasResult() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        return (LoteEventosDTO) resultado.getResult();
+    }
+
+    @Test
+    public void testRegistrarForaDeTransacao() {
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> eventoPartidaService.registrar(new Partida(), "CADASTRADA"));
+    }
+
+    @Test
+    public void testRegistrarGravaEvento() {
+        // Preparação
+        Partida partida = new Partida();
+        partida.setId(5);
+        partida.setStatus("REALIZADA");
+        partida.setPlacarMandante(2);
+        partida.setPlacarVisitante(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Execução
+        eventoPartidaService.registrar(partida, "RESULTADO");
+        eventoPartidaService.registrar(partida, "RESULTADO");
+
+        // Verificação: uma unica sincronizacao por transacao
+        Assertions.assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+        Mockito.verify(eventoPartidaRepository, Mockito.times(2)).save(Mockito.argThat(evento ->
+                evento.getIdPartida() == 5 && evento.getPlacarMandante() == 2 && "REALIZADA".equals(evento.getStatus())));
+        Mockito.when(sequenciaEventoRepository.buscarParaAtualizar(SequenciaEvento.ID)).thenReturn(Optional.of(novaSequencia(0L)));
+        concluirTransacao();
+    }
+
+    @Test
+    public void testCommitNumeraEventosAPartirDaSequencia() {
+        // Preparação
+        SequenciaEvento sequencia = novaSequencia(41L);
+        Mockito.when(sequenciaEventoRepository.buscarParaAtualizar(SequenciaEvento.ID)).thenReturn(Optional.of(sequencia));
+        ArgumentCaptor<EventoPartida> eventos = ArgumentCaptor.forClass(EventoPartida.class);
+
+        TransactionSynchronizationManager.initSynchronization();
+        eventoPartidaService.registrar(new Partida(), "CADASTRADA");
+        eventoPartidaService.registrar(new Partida(), "RESULTADO");
+        Mockito.verify(eventoPartidaRepository, Mockito.times(2)).save(eventos.capture());
+        Assertions.assertNull(eventos.getAllValues().get(0).getSequencia());
+
+        // Execução
+        concluirTransacao();
+
+        // Verificação: flush antes de travar a linha da sequencia, numeracao continua a partir do ultimo
+        InOrder ordem = Mockito.inOrder(entityManager, sequenciaEventoRepository);
+        ordem.verify(entityManager).flush();
+        ordem.verify(sequenciaEventoRepository).buscarParaAtualizar(SequenciaEvento.ID);
+        Assertions.assertEquals(42L, eventos.getAllValues().get(0).getSequencia());
+        Assertions.assertEquals(43L, eventos.getAllValues().get(1).getSequencia());
+        Assertions.assertEquals(43L, sequencia.getUltimo());
+    }
+
+    @Test
+    public void testAguardarEventosRespondeNaHoraQuandoHaEventos() {
+        // Preparação
+        Mockito.when(eventoPartidaRepository.findBySequenciaGreaterThanOrderBySequenciaAsc(10L, Limit.of(100)))
+                .thenReturn(List.of(novoEvento(11L), novoEvento(12L)));
+
+        // Execução
+        DeferredResult<LoteEventosDTO> resultado = eventoPartidaService.aguardarEventos(10L, null, 30L);
+
+        // Verificação
+        LoteEventosDTO lote = (LoteEventosDTO) resultado.getResult();
+        Assertions.assertEquals(2, lote.getEventos().size());
+        Assertions.assertEquals(12L, lote.getCursor());
+    }
+
+    @Test
+    public void testAguardarEventosCompletaNoCommit() throws InterruptedException {
+        // Preparação
+        Mockito.when(eventoPartidaRepository.findBySequenciaGreaterThanOrderBySequenciaAsc(10L, Limit.of(100)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(novoEvento(11L)));
+
+        DeferredResult<LoteEventosDTO> resultado = eventoPartidaService.aguardarEventos(10L, null, 30L);
+        Assertions.assertFalse(resultado.hasResult());
+
+        // Execução: outra transacao grava um evento e faz commit
+        Mockito.when(sequenciaEventoRepository.buscarParaAtualizar(SequenciaEvento.ID)).thenReturn(Optional.of(novaSequencia(10L)));
+        TransactionSynchronizationManager.initSynchronization();
+        eventoPartidaService.registrar(new Partida(), "CADASTRADA");
+        concluirTransacao();
+
+        // Verificação: a notificacao roda fora da thread que fez o commit
+        LoteEventosDTO lote = aguardarResultado(resultado);
+        Assertions.assertEquals(1, lote.getEventos().size());
+        Assertions.assertEquals(11L, lote.getCursor());
+    }
+
+    @Test
+    public void testCommitNotificaTodosComUmaConsulta() throws InterruptedException {
+        // Preparação
+        Mockito.when(eventoPartidaRepository.findBySequenciaGreaterThanOrderBySequenciaAsc(10L, Limit.of(100)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(novoEvento(11L), novoEvento(12L)));
+        Mockito.when(eventoPartidaRepository.findBySequenciaGreaterThanOrderBySequenciaAsc(11L, Limit.of(1)))
+                .thenReturn(List.of());
+        Mockito.when(sequenciaEventoRepository.buscarParaAtualizar(SequenciaEvento.ID)).thenReturn(Optional.of(novaSequencia(10L)));
+
+        DeferredResult<LoteEventosDTO> atrasado = eventoPartidaService.aguardarEventos(10L, null, 30L);
+        DeferredResult<LoteEventosDTO> adiantado = eventoPartidaService.aguardarEventos(11L, 1, 30L);
+
+        // Execução
+        TransactionSynchronizationManager.initSynchronization();
+        eventoPartidaService.registrar(new Partida(), "CADASTRADA");
+        eventoPartidaService.registrar(new Partida(), "CADASTRADA");
+        concluirTransacao();
+
+        // Verificação: cada pedido recebe a sua fatia da mesma consulta
+        LoteEventosDTO loteAtrasado = aguardarResultado(atrasado);
+        LoteEventosDTO loteAdiantado = aguardarResultado(adiantado);
+        Assertions.assertEquals(List.of(11L, 12L), loteAtrasado.getEventos().stream().map(EventoPartida::getSequencia).toList());
+        Assertions.assertEquals(12L, loteAtrasado.getCursor());
+        Assertions.assertEquals(List.of(12L), loteAdiantado.getEventos().stream().map(EventoPartida::getSequencia).toList());
+        Assertions.assertEquals(12L, loteAdiantado.getCursor());
+        Mockito.verify(eventoPartidaRepository, Mockito.times(2))
+                .findBySequenciaGreaterThanOrderBySequenciaAsc(10L, Limit.of(100));
+        Mockito.verify(eventoPartidaRepository, Mockito.times(1))
+                .findBySequenciaGreaterThanOrderBySequenciaAsc(11L, Limit.of(1));
+    }
+
+    @Test
+    public void testAguardarEventosSemEspera() {
+        // Preparação
+        Mockito.when(eventoPartidaRepository.findBySequenciaGreaterThanOrderBySequenciaAsc(0L, Limit.of(5)))
+                .thenReturn(List.of());
+
+        // Execução
+        DeferredResult<LoteEventosDTO> resultado = eventoPartidaService.aguardarEventos(null, 5, null);
+
+        // Verificação
+        LoteEventosDTO lote = (LoteEventosDTO) resultado.getResult();
+        Assertions.assertTrue(lote.getEventos().isEmpty());
+        Assertions.assertEquals(0L, lote.getCursor());
+    }
+}
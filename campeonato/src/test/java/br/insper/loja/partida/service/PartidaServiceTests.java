@@ -1,6 +1,12 @@
 package br.insper.loja.partida.service;
 
+import br.insper.loja.classificacao.service.ClassificacaoService;
+import br.insper.loja.leitura.model.PaginaLeitura;
+import br.insper.loja.leitura.service.ModeloLeituraService;
 import br.insper.loja.partida.dto.EditarPartidaDTO;
+import br.insper.loja.partida.dto.EditarPartidaLoteDTO;
+import br.insper.loja.partida.dto.PaginaPartidaDTO;
+import br.insper.loja.partida.dto.ResultadoLoteDTO;
 import br.insper.loja.partida.dto.RetornarPartidaDTO;
 import br.insper.loja.partida.dto.SalvarPartidaDTO;
 import br.insper.loja.partida.exception.PartidaNaoEncontradaException;
@@ -8,17 +14,31 @@ import br.insper.loja.partida.model.Partida;
 import br.insper.loja.partida.repository.PartidaRepository;
 import br.insper.loja.time.model.Time;
 import br.insper.loja.time.service.TimeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @ExtendWith(MockitoExtension.class)
 public class PartidaServiceTests {
@@ -32,6 +52,18 @@ public class PartidaServiceTests {
     @Mock
     private TimeService timeService;
 
+    @Mock
+    private ClassificacaoService classificacaoService;
+
+    @Mock
+    private EventoPartidaService eventoPartidaService;
+
+    @Mock
+    private ModeloLeituraService modeloLeituraService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @Test
     public void testCadastrarPartida() {
         // Preparação
@@ -63,61 +95,131 @@ public class PartidaServiceTests {
         Assertions.assertEquals("Time 1", resultado.getNomeMandante());
         Assertions.assertEquals("Time 2", resultado.getNomeVisitante());
         Mockito.verify(partidaRepository).save(Mockito.any(Partida.class));
+        Mockito.verify(eventoPartidaService).registrar(partida, "CADASTRADA");
+        Mockito.verify(modeloLeituraService).atualizarPartida(partida);
     }
 
     @Test
-    public void testListarPartidasQuandoMandanteNaoEhNulo() {
+    public void testCadastrarPartidasEmLote() {
         // Preparação
-        Time mandante = new Time();
-        mandante.setNome("Time 1");
-        mandante.setIdentificador("time-1");
+        Time time1 = new Time("Time 1", "time-1", null, null);
+        time1.setId(1);
+        Time time2 = new Time("Time 2", "time-2", null, null);
+        time2.setId(2);
 
-        Time visitante = new Time();
-        visitante.setNome("Time 2");
+        List<SalvarPartidaDTO> dtos = new ArrayList<>();
+        dtos.add(novaSalvarPartidaDTO(1, 2));
+        dtos.add(novaSalvarPartidaDTO(2, 99));
+        dtos.add(novaSalvarPartidaDTO(2, 1));
 
-        Partida partida = new Partida();
-        partida.setMandante(mandante);
-        partida.setVisitante(visitante);
+        Mockito.when(timeService.getTimes(Set.of(1, 2, 99))).thenReturn(Map.of(1, time1, 2, time2));
+        Mockito.when(partidaRepository.saveAll(Mockito.anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Execução
+        ResultadoLoteDTO resultado = partidaService.cadastrarPartidas(dtos);
 
-        List<Partida> partidas = new ArrayList<>();
-        partidas.add(partida);
+        // Verificação
+        Assertions.assertEquals(2, resultado.getPartidas().size());
+        Assertions.assertEquals("Time 1", resultado.getPartidas().get(0).getNomeMandante());
+        Assertions.assertEquals("Time 2", resultado.getPartidas().get(1).getNomeMandante());
+        Assertions.assertEquals(1, resultado.getErros().size());
+        Assertions.assertEquals(1, resultado.getErros().get(0).getIndice());
+        Mockito.verify(timeService, Mockito.never()).getTime(Mockito.any());
+    }
+
+    private SalvarPartidaDTO novaSalvarPartidaDTO(Integer mandante, Integer visitante) {
+        SalvarPartidaDTO dto = new SalvarPartidaDTO();
+        dto.setMandante(mandante);
+        dto.setVisitante(visitante);
+        return dto;
+    }
+
+    @Test
+    public void testListarPartidasQuandoMandanteNaoEhNulo() {
+        // Preparação
+        List<RetornarPartidaDTO> partidas = new ArrayList<>();
+        partidas.add(new RetornarPartidaDTO(1, "Time 1", "Time 2", null, null, "AGENDADA"));
 
-        Mockito.when(partidaRepository.findAll()).thenReturn(partidas);
+        Mockito.when(modeloLeituraService.buscarPagina("time-1", null, null, null, 51)).thenReturn(new PaginaLeitura(partidas, 1));
 
         // Execução
-        List<RetornarPartidaDTO> resultado = partidaService.listarPartidas("time-1");
+        PaginaPartidaDTO resultado = partidaService.listarPartidas("time-1", null, null, null, null);
 
         // Verificação
-        Assertions.assertEquals(1, resultado.size());
-        Assertions.assertEquals("Time 1", resultado.get(0).getNomeMandante());
-        Assertions.assertEquals("Time 2", resultado.get(0).getNomeVisitante());
+        Assertions.assertEquals(1, resultado.getPartidas().size());
+        Assertions.assertEquals("Time 1", resultado.getPartidas().get(0).getNomeMandante());
+        Assertions.assertEquals("Time 2", resultado.getPartidas().get(0).getNomeVisitante());
+        Assertions.assertNull(resultado.getProximoCursor());
     }
 
     @Test
     public void testListarPartidasQuandoMandanteEhNulo() {
         // Preparação
-        Time mandante = new Time();
-        mandante.setNome("Time 1");
+        List<RetornarPartidaDTO> partidas = new ArrayList<>();
+        partidas.add(new RetornarPartidaDTO(1, "Time 1", "Time 2", null, null, "AGENDADA"));
 
-        Time visitante = new Time();
-        visitante.setNome("Time 2");
+        Mockito.when(modeloLeituraService.buscarPagina(null, null, null, null, 51)).thenReturn(new PaginaLeitura(partidas, 1));
 
-        Partida partida = new Partida();
-        partida.setMandante(mandante);
-        partida.setVisitante(visitante);
+        // Execução
+        PaginaPartidaDTO resultado = partidaService.listarPartidas(null, null, null, null, null);
+
+        // Verificação
+        Assertions.assertEquals(1, resultado.getPartidas().size());
+        Assertions.assertEquals("Time 1", resultado.getPartidas().get(0).getNomeMandante());
+        Assertions.assertEquals("Time 2", resultado.getPartidas().get(0).getNomeVisitante());
+    }
+
+    @Test
+    public void testListarPartidasComProximaPagina() {
+        // Preparação
+        List<RetornarPartidaDTO> partidas = new ArrayList<>();
+        for (int id = 11; id <= 13; id++) {
+            partidas.add(new RetornarPartidaDTO(id, "Time 1", "Time 2", null, null, "AGENDADA"));
+        }
+
+        Mockito.when(modeloLeituraService.buscarPagina(null, null, "AGENDADA", 10, 3)).thenReturn(new PaginaLeitura(partidas, 3));
+
+        // Execução
+        PaginaPartidaDTO resultado = partidaService.listarPartidas(null, null, "AGENDADA", 10, 2);
 
-        List<Partida> partidas = new ArrayList<>();
-        partidas.add(partida);
+        // Verificação
+        Assertions.assertEquals(2, resultado.getPartidas().size());
+        Assertions.assertEquals(12, resultado.getProximoCursor());
+    }
 
-        Mockito.when(partidaRepository.findAll()).thenReturn(partidas);
+    @Test
+    public void testListarPartidasGeraEventoJfr() throws IOException {
+        // Preparação
+        List<RetornarPartidaDTO> partidas = new ArrayList<>();
+        for (int id = 11; id <= 13; id++) {
+            partidas.add(new RetornarPartidaDTO(id, "Time 1", "Time 2", null, null, "AGENDADA"));
+        }
+        // 7 candidatos percorridos para juntar as 3 linhas
+        Mockito.when(modeloLeituraService.buscarPagina(null, null, "AGENDADA", 10, 3)).thenReturn(new PaginaLeitura(partidas, 7));
+        Path arquivo = Files.createTempFile("listagem-partidas", ".jfr");
+        List<RecordedEvent> eventos;
 
         // Execução
-        List<RetornarPartidaDTO> resultado = partidaService.listarPartidas(null);
+        try (Recording gravacao = new Recording()) {
+            gravacao.enable("br.insper.loja.ListagemPartidas");
+            gravacao.start();
+            partidaService.listarPartidas(null, null, "AGENDADA", 10, 2);
+            gravacao.stop();
+            gravacao.dump(arquivo);
+            eventos = RecordingFile.readAllEvents(arquivo);
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
 
         // Verificação
-        Assertions.assertEquals(1, resultado.size());
-        Assertions.assertEquals("Time 1", resultado.get(0).getNomeMandante());
-        Assertions.assertEquals("Time 2", resultado.get(0).getNomeVisitante());
+        Assertions.assertEquals(1, eventos.size());
+        RecordedEvent evento = eventos.get(0);
+        Assertions.assertEquals("AGENDADA", evento.getString("status"));
+        Assertions.assertNull(evento.getString("mandante"));
+        Assertions.assertEquals(10, evento.getInt("cursor"));
+        Assertions.assertEquals(2, evento.getInt("limite"));
+        Assertions.assertEquals(7, evento.getInt("linhasLidas"));
+        Assertions.assertEquals(2, evento.getInt("linhasDevolvidas"));
     }
 
     @Test
@@ -151,19 +253,92 @@ public class PartidaServiceTests {
     }
 
     @Test
-    public void testGetPartidaQuandoPartidaEhEncontrada() {
+    public void testEditarPartidaJaRealizadaDesfazResultadoAnterior() {
         // Preparação
-        Time mandante = new Time();
-        mandante.setNome("Time 1");
+        Partida partida = new Partida();
+        partida.setMandante(new Time("Time 1", "time-1", null, null));
+        partida.setVisitante(new Time("Time 2", "time-2", null, null));
+        partida.setPlacarMandante(2);
+        partida.setPlacarVisitante(0);
+        partida.setStatus("REALIZADA");
 
-        Time visitante = new Time();
-        visitante.setNome("Time 2");
+        EditarPartidaDTO editarPartidaDTO = new EditarPartidaDTO();
+        editarPartidaDTO.setPlacarMandante(1);
+        editarPartidaDTO.setPlacarVisitante(1);
+
+        Mockito.when(partidaRepository.findById(1)).thenReturn(Optional.of(partida));
+        Mockito.when(partidaRepository.save(partida)).thenReturn(partida);
+        Mockito.doAnswer(invocation -> {
+            Partida anterior = invocation.getArgument(0);
+            Assertions.assertEquals(2, anterior.getPlacarMandante());
+            return null;
+        }).when(classificacaoService).removerResultado(partida);
+
+        // Execução
+        partidaService.editarPartida(editarPartidaDTO, 1);
+
+        // Verificação
+        InOrder ordem = Mockito.inOrder(classificacaoService);
+        ordem.verify(classificacaoService).removerResultado(partida);
+        ordem.verify(classificacaoService).adicionarResultado(partida);
+    }
+
+    @Test
+    public void testEditarPartidaQuandoPartidaNaoEhEncontrada() {
+        // Preparação
+        Mockito.when(partidaRepository.findById(1)).thenReturn(Optional.empty());
+
+        // Verificação
+        Assertions.assertThrows(PartidaNaoEncontradaException.class,
+                () -> partidaService.editarPartida(new EditarPartidaDTO(), 1));
+    }
+
+    @Test
+    public void testEditarPartidasEmLote() {
+        // Preparação
+        Time mandante = new Time("Time 1", "time-1", null, null);
+        Time visitante = new Time("Time 2", "time-2", null, null);
 
         Partida partida = new Partida();
+        partida.setId(1);
         partida.setMandante(mandante);
         partida.setVisitante(visitante);
+        partida.setStatus("AGENDADA");
 
-        Mockito.when(partidaRepository.findById(1)).thenReturn(Optional.of(partida));
+        List<EditarPartidaLoteDTO> dtos = new ArrayList<>();
+        dtos.add(novaEditarPartidaLoteDTO(1, 3, 0));
+        dtos.add(novaEditarPartidaLoteDTO(7, 1, 1));
+
+        Mockito.when(partidaRepository.buscarComTimes(Set.of(1, 7))).thenReturn(List.of(partida));
+
+        // Execução
+        ResultadoLoteDTO resultado = partidaService.editarPartidas(dtos);
+
+        // Verificação
+        Assertions.assertEquals(1, resultado.getPartidas().size());
+        Assertions.assertEquals("REALIZADA", partida.getStatus());
+        Assertions.assertEquals(3, partida.getPlacarMandante());
+        Assertions.assertEquals(1, resultado.getErros().size());
+        Assertions.assertEquals(7, resultado.getErros().get(0).getId());
+        Mockito.verify(partidaRepository, Mockito.never()).save(Mockito.any(Partida.class));
+        Mockito.verify(eventoPartidaService).registrar(partida, "RESULTADO");
+        Mockito.verify(modeloLeituraService).atualizarPartidas(List.of(partida));
+    }
+
+    private EditarPartidaLoteDTO novaEditarPartidaLoteDTO(Integer id, Integer placarMandante, Integer placarVisitante) {
+        EditarPartidaLoteDTO dto = new EditarPartidaLoteDTO();
+        dto.setId(id);
+        dto.setPlacarMandante(placarMandante);
+        dto.setPlacarVisitante(placarVisitante);
+        return dto;
+    }
+
+    @Test
+    public void testGetPartidaQuandoPartidaEhEncontrada() {
+        // Preparação
+        RetornarPartidaDTO partida = new RetornarPartidaDTO(1, "Time 1", "Time 2", null, null, "AGENDADA");
+
+        Mockito.when(modeloLeituraService.buscarPartida(1)).thenReturn(Optional.of(partida));
 
         // Execução
         RetornarPartidaDTO resultado = partidaService.getPartida(1);
@@ -177,9 +352,28 @@ public class PartidaServiceTests {
     @Test
     public void testGetPartidaQuandoPartidaNaoEhEncontrada() {
         // Preparação
-        Mockito.when(partidaRepository.findById(1)).thenReturn(Optional.empty());
+        Mockito.when(modeloLeituraService.buscarPartida(1)).thenReturn(Optional.empty());
 
         // Verificação
         Assertions.assertThrows(PartidaNaoEncontradaException.class, () -> partidaService.getPartida(1));
     }
+
+    @Test
+    public void testExportarPartidasEscreveUmaPartidaPorLinha() throws IOException {
+        // Preparação
+        Mockito.when(partidaRepository.streamPartidas()).thenReturn(Stream.of(
+                new RetornarPartidaDTO(1, "Time 1", "Time 2", 1, 0, "REALIZADA"),
+                new RetornarPartidaDTO(2, "Time 2", "Time 1", null, null, "AGENDADA")));
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // Execução
+        partidaService.exportarPartidas(saida);
+
+        // Verificação
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(2, linhas.length);
+        Assertions.assertEquals("Time 1", objectMapper.readValue(linhas[0], RetornarPartidaDTO.class).getNomeMandante());
+        Assertions.assertEquals(2, objectMapper.readValue(linhas[1], RetornarPartidaDTO.class).getId());
+    }
 }
@@ -0,0 +1,57 @@
+package br.insper.loja.time.controller;
+
+import br.insper.loja.partida.service.PartidaService;
+import br.insper.loja.time.dto.VersaoColecaoDTO;
+import br.insper.loja.time.model.Time;
+import br.insper.loja.time.service.TimeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TimeController.class)
+// os advices contam as respostas 404
+@Import(SimpleMeterRegistry.class)
+public class TimeControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TimeService timeService;
+
+    @MockBean
+    private PartidaService partidaService;
+
+    @Test
+    public void testGetTimesEnviaEtagAgregada() throws Exception {
+        Mockito.when(timeService.getVersaoTimes("SP")).thenReturn(new VersaoColecaoDTO(2L, 5L));
+        Mockito.when(timeService.listarTimes("SP"))
+                .thenReturn(List.of(new Time("Time 1", "time-1", null, "SP"), new Time("Time 2", "time-2", null, "SP")));
+
+        mockMvc.perform(get("/time").param("estado", "SP"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"times-2-5\""))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].versao").doesNotExist());
+    }
+
+    @Test
+    public void testGetTimesNaoModificados() throws Exception {
+        Mockito.when(timeService.getVersaoTimes(null)).thenReturn(new VersaoColecaoDTO(2L, 5L));
+
+        mockMvc.perform(get("/time").header("If-None-Match", "\"times-2-5\""))
+                .andExpect(status().isNotModified());
+
+        Mockito.verify(timeService, Mockito.never()).listarTimes(Mockito.any());
+    }
+}
@@ -0,0 +1,81 @@
+package br.insper.loja.time.service;
+
+import br.insper.loja.common.CacheConfig;
+import br.insper.loja.leitura.service.ModeloLeituraService;
+import br.insper.loja.time.dto.EstatisticasCacheDTO;
+import br.insper.loja.time.model.Time;
+import br.insper.loja.time.repository.TimeRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.Optional;
+
+@SpringBootTest(classes = {TimeService.class, CacheConfig.class}, properties = {
+        "spring.cache.cache-names=times",
+        "spring.cache.caffeine.spec=maximumSize=2,recordStats"
+})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TimeServiceCacheTests {
+
+    @Autowired
+    private TimeService timeService;
+
+    @MockBean
+    private TimeRepository timeRepository;
+
+    @MockBean
+    private ModeloLeituraService modeloLeituraService;
+
+    private Time novoTime(Integer id, String identificador) {
+        Time time = new Time("Time " + id, identificador, "Estadio", "SP");
+        time.setId(id);
+        return time;
+    }
+
+    @Test
+    public void testGetTimeConsultaBancoUmaVez() {
+        Mockito.when(timeRepository.findById(1)).thenReturn(Optional.of(novoTime(1, "time-1")));
+
+        timeService.getTime(1);
+        timeService.getTime(1);
+        timeService.getTime(1);
+
+        Mockito.verify(timeRepository, Mockito.times(1)).findById(1);
+
+        EstatisticasCacheDTO estatisticas = timeService.getEstatisticasCache();
+        Assertions.assertEquals(2, estatisticas.getAcertos());
+        Assertions.assertEquals(1, estatisticas.getFalhas());
+    }
+
+    @Test
+    public void testCadastrarTimeAtualizaCache() {
+        Time time = novoTime(1, "time-1");
+        Mockito.when(timeRepository.save(time)).thenReturn(time);
+
+        timeService.cadastrarTime(time);
+        Time retorno = timeService.getTime(1);
+
+        Assertions.assertEquals("Time 1", retorno.getNome());
+        Mockito.verify(timeRepository, Mockito.never()).findById(1);
+    }
+
+    @Test
+    public void testCacheRemoveQuandoPassaDoLimite() {
+        for (int id = 1; id <= 5; id++) {
+            Mockito.when(timeRepository.findById(id)).thenReturn(Optional.of(novoTime(id, "time-" + id)));
+            timeService.getTime(id);
+        }
+
+        EstatisticasCacheDTO estatisticas = timeService.getEstatisticasCache();
+        Assertions.assertTrue(estatisticas.getTamanho() <= 2);
+        Assertions.assertTrue(estatisticas.getRemocoes() >= 3);
+    }
+}
@@ -0,0 +1,73 @@
+package br.insper.loja.time.service;
+
+import br.insper.loja.common.CacheConfig;
+import br.insper.loja.leitura.service.ModeloLeituraService;
+import br.insper.loja.time.dto.EstatisticasCacheDTO;
+import br.insper.loja.time.exception.TimeNaoEncontradoException;
+import br.insper.loja.time.model.Time;
+import br.insper.loja.time.repository.TimeRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+@SpringBootTest(classes = {TimeService.class, CacheConfig.class}, properties = {
+        "spring.cache.cache-names=times",
+        "spring.cache.caffeine.spec=maximumSize=2,recordStats",
+        "spring.threads.virtual.enabled=true"
+})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TimeServiceCacheVirtualTests {
+
+    @Autowired
+    private TimeService timeService;
+
+    @MockBean
+    private TimeRepository timeRepository;
+
+    @MockBean
+    private ModeloLeituraService modeloLeituraService;
+
+    @Test
+    public void testGetTimeCarregaForaDaThreadChamadora() {
+        // Preparação
+        Time time = new Time("Time 1", "time-1", "Estadio", "SP");
+        time.setId(1);
+        AtomicReference<Thread> threadCarga = new AtomicReference<>();
+        Mockito.when(timeRepository.findById(1)).thenAnswer(i -> {
+            threadCarga.set(Thread.currentThread());
+            return Optional.of(time);
+        });
+
+        // Execução
+        timeService.getTime(1);
+        timeService.getTime(1);
+
+        // Verificação
+        Assertions.assertNotSame(Thread.currentThread(), threadCarga.get());
+        Assertions.assertTrue(threadCarga.get().isVirtual());
+        Mockito.verify(timeRepository, Mockito.times(1)).findById(1);
+
+        EstatisticasCacheDTO estatisticas = timeService.getEstatisticasCache();
+        Assertions.assertEquals(1, estatisticas.getAcertos());
+        Assertions.assertEquals(1, estatisticas.getFalhas());
+    }
+
+    @Test
+    public void testGetTimeInexistenteMantemExcecao() {
+        // Preparação
+        Mockito.when(timeRepository.findById(9)).thenReturn(Optional.empty());
+
+        // Execução e Verificação
+        Assertions.assertThrows(TimeNaoEncontradoException.class, () -> timeService.getTime(9));
+    }
+}
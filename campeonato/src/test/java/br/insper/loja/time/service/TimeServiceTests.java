@@ -1,5 +1,6 @@
 package br.insper.loja.time.service;
 
+import br.insper.loja.leitura.service.ModeloLeituraService;
 import br.insper.loja.time.exception.TimeNaoEncontradoException;
 import br.insper.loja.time.model.Time;
 import br.insper.loja.time.repository.TimeRepository;
@@ -13,7 +14,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @ExtendWith(MockitoExtension.class)
 public class TimeServiceTests {
@@ -24,6 +27,9 @@ public class TimeServiceTests {
     @Mock
     private TimeRepository timeRepository;
 
+    @Mock
+    private ModeloLeituraService modeloLeituraService;
+
     @Test
     public void testCadastrarTimeComSucesso() {
         // Preparação
@@ -40,6 +46,7 @@ public class TimeServiceTests {
         Assertions.assertNotNull(timeSalvo);
         Assertions.assertEquals("Time A", timeSalvo.getNome());
         Assertions.assertEquals("time-a", timeSalvo.getIdentificador());
+        Mockito.verify(modeloLeituraService).atualizarTime(time);
     }
 
     @Test
@@ -74,7 +81,7 @@ public class TimeServiceTests {
         time.setIdentificador("time-1");
         lista.add(time);
 
-        Mockito.when(timeRepository.findByEstado("")).thenReturn(lista);
+        Mockito.when(modeloLeituraService.listarTimes("")).thenReturn(lista);
 
         // Execução
         List<Time> times = timeService.listarTimes("");
@@ -125,7 +132,7 @@ public class TimeServiceTests {
         lista.add(time);
 
         // Quando o estado não é nulo, deve retornar a lista filtrada pelo estado
-        Mockito.when(timeRepository.findByEstado("SP")).thenReturn(lista);
+        Mockito.when(modeloLeituraService.listarTimes("SP")).thenReturn(lista);
 
         // Execução
         List<Time> times = timeService.listarTimes("SP");
@@ -155,7 +162,7 @@ public class TimeServiceTests {
         lista.add(time2);
 
         // Quando o estado é null, deve retornar todos os times
-        Mockito.when(timeRepository.findAll()).thenReturn(lista);
+        Mockito.when(modeloLeituraService.listarTimes(null)).thenReturn(lista);
 
         // Execução
         List<Time> times = timeService.listarTimes(null);
@@ -173,7 +180,7 @@ public class TimeServiceTests {
         List<Time> lista = new ArrayList<>();
 
         // Quando o estado não é nulo, mas não há times para o estado
-        Mockito.when(timeRepository.findByEstado("RJ")).thenReturn(lista);
+        Mockito.when(modeloLeituraService.listarTimes("RJ")).thenReturn(lista);
 
         // Execução
         List<Time> times = timeService.listarTimes("RJ");
@@ -181,4 +188,23 @@ public class TimeServiceTests {
         // Verificação
         Assertions.assertTrue(times.isEmpty());  // Espera-se que a lista seja vazia
     }
+
+    @Test
+    public void testGetTimesIndexaPorId() {
+        // Preparação
+        Time time1 = new Time("Time 1", "time-1", null, "SP");
+        time1.setId(1);
+        Time time2 = new Time("Time 2", "time-2", null, "RJ");
+        time2.setId(2);
+
+        Mockito.when(timeRepository.findAllById(Set.of(1, 2, 3))).thenReturn(List.of(time1, time2));
+
+        // Execução
+        Map<Integer, Time> times = timeService.getTimes(Set.of(1, 2, 3));
+
+        // Verificação
+        Assertions.assertEquals(2, times.size());
+        Assertions.assertEquals("time-2", times.get(2).getIdentificador());
+        Assertions.assertNull(times.get(3));
+    }
 }